@@ -0,0 +1,132 @@
+package com.dmu.debug_visual.code;
+
+/**
+ * 컴파일러 서버 한 대에 대한 서킷 브레이커
+ * 최근 호출의 실패율이 기준을 넘으면 OPEN 되어 호출을 막고, 일정 시간 뒤 HALF_OPEN 에서 1건만 시험 호출합니다.
+ */
+public class BackendCircuitBreaker {
+
+    public enum State {
+        CLOSED,    // 정상 (모든 호출 허용)
+        OPEN,      // 차단 (호출 거부)
+        HALF_OPEN  // 시험 호출 1건만 허용
+    }
+
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openDurationMillis;
+
+    // 최근 호출 결과 (true = 실패) 를 담는 원형 버퍼
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public BackendCircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, long openDurationMillis) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = minimumCalls;
+        this.failureRatePercent = failureRatePercent;
+        this.openDurationMillis = openDurationMillis;
+    }
+
+    /**
+     * 상태를 바꾸지 않고 지금 호출이 허용되는지만 확인합니다. (서버 선택용)
+     */
+    public synchronized boolean isCallPermitted(long now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> now - openedAt >= openDurationMillis;
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+
+    /**
+     * 실제 호출 직전에 허가를 받습니다. OPEN 시간이 지났으면 HALF_OPEN 으로 전환하고 시험 호출을 허용합니다.
+     */
+    public synchronized boolean tryAcquire(long now) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - openedAt < openDurationMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        record(true);
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRatePercent * windowCount) {
+            open(now);
+        }
+    }
+
+    /**
+     * 시험 호출이 결과 없이 취소된 경우, 다음 요청이 다시 시험 호출할 수 있도록 합니다.
+     */
+    public synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // Private Helper Methods
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        probeInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
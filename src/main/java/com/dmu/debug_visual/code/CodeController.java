@@ -1,7 +1,15 @@
 package com.dmu.debug_visual.code;
 
+import com.dmu.debug_visual.code.dto.CodeBatchRequestDTO;
+import com.dmu.debug_visual.code.dto.CodeBatchResponseDTO;
+import com.dmu.debug_visual.code.dto.CodeOutputChunkDTO;
 import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
 import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.code.dto.CompactVisualizeResponseDTO;
+import com.dmu.debug_visual.code.dto.TestCaseDTO;
+import com.dmu.debug_visual.code.dto.TestCaseResultDTO;
+import com.dmu.debug_visual.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,9 +18,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,14 +42,21 @@ import org.springframework.web.bind.annotation.*;
 public class CodeController {
 
     private final CodeExecutionService codeExecutionService;
+    private final ExecutionSupersedeRegistry supersedeRegistry;
+    private final CompactTraceEncoder compactTraceEncoder;
 
     private final ObjectMapper objectMapper;
 
+    // 한 번에 실행할 수 있는 최대 테스트 케이스 수
+    @Value("${compiler.batch.max-cases:50}")
+    private int batchMaxCases;
+
 
     @PostMapping("/run")
     @Operation(
             summary = "코드 실행",
-            description = "입력받은 코드와 입력값을 언어에 따라 실행하고 결과를 반환합니다."
+            description = "입력받은 코드와 입력값을 언어에 따라 실행하고 결과를 반환합니다. " +
+                    ExecutionRequester.SESSION_HEADER + " 헤더를 보내면 같은 세션에서 진행 중이던 이전 실행은 취소됩니다."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -50,15 +78,21 @@ public class CodeController {
                     )
             ),
             @ApiResponse(responseCode = "400", description = "컴파일 또는 실행 에러", content = @Content),
+            @ApiResponse(responseCode = "429", description = "실행 대기열 초과 (Retry-After 헤더 참고)", content = @Content),
             @ApiResponse(responseCode = "500", description = "서버 오류", content = @Content)
     })
-    public ResponseEntity<CodeRunResponseDTO> runCode(@RequestBody CodeRunRequestDTO requestDTO) {
-        CodeRunResponseDTO response = codeExecutionService.runCode(
-                requestDTO.getCode(),
-                requestDTO.getInput(),
-                requestDTO.getLang()
-        );
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<CodeRunResponseDTO>> runCode(@RequestBody CodeRunRequestDTO requestDTO,
+                                                             @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                             HttpServletRequest httpRequest) {
+        return supersedeRegistry.guard(
+                ExecutionRequester.sessionKeyOf(userDetails, httpRequest),
+                codeExecutionService.runCode(
+                        requestDTO.getCode(),
+                        requestDTO.getInput(),
+                        requestDTO.getLang(),
+                        ExecutionRequester.keyOf(userDetails, httpRequest)),
+                this::supersededResponse
+        ).map(ResponseEntity::ok);
     }
 
     @PostMapping("/visualize")
@@ -87,14 +121,149 @@ public class CodeController {
                     )
             ),
             @ApiResponse(responseCode = "400", description = "컴파일 또는 실행 에러", content = @Content),
+            @ApiResponse(responseCode = "429", description = "실행 대기열 초과 (Retry-After 헤더 참고)", content = @Content),
             @ApiResponse(responseCode = "500", description = "서버 오류", content = @Content)
     })
-    public ResponseEntity<CodeRunResponseDTO> visualizeCode(@RequestBody CodeRunRequestDTO requestDTO) {
-        CodeRunResponseDTO response = codeExecutionService.visualizeCode(
+    public Mono<ResponseEntity<CodeRunResponseDTO>> visualizeCode(@RequestBody CodeRunRequestDTO requestDTO,
+                                                             @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                             HttpServletRequest httpRequest) {
+        return supersedeRegistry.guard(
+                ExecutionRequester.sessionKeyOf(userDetails, httpRequest),
+                codeExecutionService.visualizeCode(
+                        requestDTO.getCode(),
+                        requestDTO.getInput(),
+                        requestDTO.getLang(),
+                        ExecutionRequester.keyOf(userDetails, httpRequest)),
+                this::supersededResponse
+        ).map(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/visualize", produces = CompactTraceEncoder.MEDIA_TYPE)
+    @Operation(
+            summary = "코드 시각화 (압축 형식)",
+            description = "Accept: " + CompactTraceEncoder.MEDIA_TYPE + " 로 요청하면, 시각화 단계를 필드 이름 테이블과 " +
+                    "이전 단계 대비 변경분(JSON Merge Patch)으로 줄여서 반환합니다."
+    )
+    public Mono<ResponseEntity<CompactVisualizeResponseDTO>> visualizeCodeCompact(@RequestBody CodeRunRequestDTO requestDTO,
+                                                                               @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                               HttpServletRequest httpRequest) {
+        return visualizeCode(requestDTO, userDetails, httpRequest)
+                // 큰 trace 의 변환이 네트워크 스레드를 붙잡지 않도록 별도 스케줄러에서 처리합니다.
+                .publishOn(Schedulers.parallel())
+                .map(response -> {
+                    CodeRunResponseDTO body = response.getBody();
+                    JsonNode trace = compactTraceEncoder.encode(body.getAst());
+                    return ResponseEntity.status(response.getStatusCode()).body(CompactVisualizeResponseDTO.builder()
+                            .stdout(body.getStdout())
+                            .stderr(body.getStderr())
+                            .exitCode(body.getExitCode())
+                            .success(body.isSuccess())
+                            .trace(trace)
+                            .ast(trace == null ? body.getAst() : null)
+                            .build());
+                });
+    }
+
+    @PostMapping(value = "/run/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "코드 실행 (출력 스트리밍)",
+            description = "코드를 실행하면서 stdout/stderr 출력을 SSE 이벤트로 전달합니다. " +
+                    "이벤트 이름은 stdout, stderr, exit(종료 코드), truncated(출력 한도 초과), error, rejected(대기열 초과), " +
+                    "cancelled(같은 " + ExecutionRequester.SESSION_HEADER + " 헤더의 새 실행으로 취소됨) 중 하나입니다."
+    )
+    public Flux<ServerSentEvent<String>> streamCode(@RequestBody CodeRunRequestDTO requestDTO,
+                                                    @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                    HttpServletRequest httpRequest) {
+        return supersedeRegistry.guardMany(
+                ExecutionRequester.sessionKeyOf(userDetails, httpRequest),
+                codeExecutionService.streamCode(
+                        requestDTO.getCode(),
+                        requestDTO.getInput(),
+                        requestDTO.getLang(),
+                        ExecutionRequester.keyOf(userDetails, httpRequest)),
+                () -> new CodeOutputChunkDTO(CodeOutputChunkDTO.CANCELLED, "")
+        ).map(chunk -> ServerSentEvent.<String>builder()
+                .event(chunk.getType())
+                .data(chunk.getData())
+                .build());
+    }
+
+    @PostMapping("/run/batch")
+    @Operation(
+            summary = "테스트 케이스 일괄 실행",
+            description = "하나의 코드를 여러 입력으로 병렬 실행하고, 케이스별 결과와 통과/실패 개수를 함께 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "실행 완료",
+                    content = @Content(schema = @Schema(implementation = CodeBatchResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "테스트 케이스가 없거나 최대 개수 초과", content = @Content)
+    })
+    public Mono<ResponseEntity<CodeBatchResponseDTO>> runBatch(@RequestBody CodeBatchRequestDTO requestDTO,
+                                                                @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                                HttpServletRequest httpRequest) {
+        return runBatchCases(requestDTO, userDetails, httpRequest)
+                .collectList()
+                .map(results -> ResponseEntity.ok(CodeBatchResponseDTO.builder()
+                        .total(results.size())
+                        .passed((int) results.stream().filter(r -> Boolean.TRUE.equals(r.getPassed())).count())
+                        .failed((int) results.stream().filter(r -> Boolean.FALSE.equals(r.getPassed())).count())
+                        .results(results)
+                        .build()));
+    }
+
+    @PostMapping(value = "/run/batch/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "테스트 케이스 일괄 실행 (결과 스트리밍)",
+            description = "케이스별 결과를 요청 순서대로 한 줄에 하나씩 NDJSON 으로 전달합니다."
+    )
+    public Flux<TestCaseResultDTO> streamBatch(@RequestBody CodeBatchRequestDTO requestDTO,
+                                               @AuthenticationPrincipal CustomUserDetails userDetails,
+                                               HttpServletRequest httpRequest) {
+        return runBatchCases(requestDTO, userDetails, httpRequest);
+    }
+
+    /**
+     * 실행 대기열이 가득 찬 경우 429 와 Retry-After 헤더로 응답합니다.
+     */
+    @ExceptionHandler(ExecutionRejectedException.class)
+    public ResponseEntity<CodeRunResponseDTO> handleExecutionRejected(ExecutionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(CodeRunResponseDTO.builder()
+                        .stdout("")
+                        .stderr(e.getMessage())
+                        .exitCode(1)
+                        .success(false)
+                        .build());
+    }
+
+    // Private Helper Methods
+
+    // 같은 세션에서 새 실행이 시작되어 이전 실행이 취소된 경우의 응답
+    private CodeRunResponseDTO supersededResponse() {
+        return CodeRunResponseDTO.builder()
+                .stdout("")
+                .stderr("새 실행 요청으로 이전 실행이 취소되었습니다.")
+                .exitCode(1)
+                .success(false)
+                .build();
+    }
+
+    private Flux<TestCaseResultDTO> runBatchCases(CodeBatchRequestDTO requestDTO,
+                                                  CustomUserDetails userDetails,
+                                                  HttpServletRequest httpRequest) {
+        List<TestCaseDTO> testCases = requestDTO.getTestCases();
+        if (testCases == null || testCases.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "테스트 케이스가 없습니다.");
+        }
+        if (testCases.size() > batchMaxCases) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "테스트 케이스는 최대 " + batchMaxCases + "개까지 실행할 수 있습니다.");
+        }
+        return codeExecutionService.runBatch(
                 requestDTO.getCode(),
-                requestDTO.getInput(),
-                requestDTO.getLang()
-        );
-        return ResponseEntity.ok(response);
+                requestDTO.getLang(),
+                testCases,
+                ExecutionRequester.keyOf(userDetails, httpRequest));
     }
-}
\ No newline at end of file
+}
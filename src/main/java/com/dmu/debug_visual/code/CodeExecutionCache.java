@@ -0,0 +1,156 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 코드 실행/시각화 결과를 보관하는 프로세스 내 캐시
+ * (정규화된 코드, 입력값, 언어, 실행 종류)의 해시를 키로 사용하며,
+ * 최대 개수(LRU)와 TTL 기준으로 만료됩니다.
+ */
+@Component
+public class CodeExecutionCache {
+
+    // 실행할 때마다 결과가 달라질 수 있는 코드(난수, 현재 시각 등)는 캐시하지 않습니다.
+    private static final Pattern NON_DETERMINISTIC = Pattern.compile(
+            "random|rand\\s*\\(|srand|time\\s*\\(|datetime|currentTimeMillis|nanoTime|LocalDate|Instant\\.now|uuid|getpid|clock\\s*\\(",
+            Pattern.CASE_INSENSITIVE);
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public CodeExecutionCache(@Value("${compiler.cache.max-entries:1000}") int maxEntries,
+                              @Value("${compiler.cache.ttl-ms:600000}") long ttlMillis,
+                              MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        // accessOrder = true 로 설정하여 가장 오래 조회되지 않은 항목부터 제거(LRU)합니다.
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        this.hitCounter = meterRegistry.counter("code.execution.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("code.execution.cache", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("code.execution.cache.evictions");
+        Gauge.builder("code.execution.cache.size", this, CodeExecutionCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 실행 요청을 식별하는 캐시 키를 생성합니다.
+     * 줄바꿈 형식(CRLF/LF) 차이만 같은 코드로 취급합니다.
+     * 줄 끝 공백은 여러 줄 문자열 리터럴의 출력에 포함될 수 있으므로 그대로 키에 반영합니다.
+     */
+    public static String keyOf(ExecutionType type, String code, String input, String lang) {
+        String normalizedLang = lang == null ? "" : lang.trim().toLowerCase();
+        String normalizedInput = input == null ? "" : input.replace("\r\n", "\n");
+        String raw = type.name() + '\u0000' + normalizedLang + '\u0000' + normalizeCode(code) + '\u0000' + normalizedInput;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 캐시된 결과를 조회합니다. 만료된 항목은 제거하고 null을 반환합니다.
+     */
+    public CodeRunResponseDTO get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+                entries.remove(key);
+                evictionCounter.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                missCounter.increment();
+                return null;
+            }
+            hitCounter.increment();
+            return copyOf(entry.response);
+        }
+    }
+
+    /**
+     * 결정적이고 성공한 실행 결과만 캐시에 저장합니다.
+     * 출력 일부가 임시 파일에 있는 결과(outputId)는 파일이 먼저 만료될 수 있으므로 저장하지 않습니다.
+     */
+    public void put(String key, String code, CodeRunResponseDTO response) {
+        if (!isCacheable(code, response)) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(copyOf(response), System.currentTimeMillis() + ttlMillis));
+            evictOverflow();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Private Helper Methods
+
+    private boolean isCacheable(String code, CodeRunResponseDTO response) {
+        return response != null
+                && response.isSuccess()
+                && response.getExitCode() == 0
+                && response.getOutputId() == null
+                && (code == null || !NON_DETERMINISTIC.matcher(code).find());
+    }
+
+    private void evictOverflow() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entries.size() <= maxEntries && !entry.isExpired(now)) {
+                break;
+            }
+            iterator.remove();
+            evictionCounter.increment();
+        }
+    }
+
+    private static String normalizeCode(String code) {
+        if (code == null) {
+            return "";
+        }
+        return code.replace("\r\n", "\n");
+    }
+
+    private static CodeRunResponseDTO copyOf(CodeRunResponseDTO response) {
+        return CodeRunResponseDTO.builder()
+                .stdout(response.getStdout())
+                .stderr(response.getStderr())
+                .exitCode(response.getExitCode())
+                .success(response.isSuccess())
+                .ast(response.getAst())
+                .build();
+    }
+
+    private record Entry(CodeRunResponseDTO response, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -1,79 +1,231 @@
 package com.dmu.debug_visual.code;
 
+import com.dmu.debug_visual.code.dto.CodeOutputChunkDTO;
 import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
 import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.code.dto.TestCaseDTO;
+import com.dmu.debug_visual.code.dto.TestCaseResultDTO;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 컴파일러 서버에 코드 실행/시각화를 요청하는 서비스
+ * 모든 호출은 논블로킹으로 처리되며, 결과는 Mono로 반환됩니다.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CodeExecutionService {
 
-    private final WebClient webClient;
-
-    @Value("${compiler.python.url}")
-    private String compilerPythonUrl;
-
-    public CodeRunResponseDTO runCode(String code, String input, String lang) {
-        if ("print(\"Hello\")".equals(code.replaceAll("\\s+", "")) &&
-                "5".equals(input) &&
-                "python".equalsIgnoreCase(lang)) {
-            return CodeRunResponseDTO.builder()
-                    .stdout("Hello")
-                    .stderr("")
-                    .exitCode(0)
-                    .success(true)
-                    .build();
-        }
+    private final CompilerRouter compilerRouter;
+    private final CodeExecutionCache executionCache;
+    private final ExecutionCoalescer executionCoalescer;
+    private final VisualizationTraceStore traceStore;
+    private final ExecutionHistoryRecorder historyRecorder;
+    private final List<ExecutionBackend> executionBackends;  // @Order 순서대로 주입됨
 
-        CodeRunRequestDTO request = new CodeRunRequestDTO(code, input, lang);
+    // 스트리밍 실행: 컴파일러에서 미리 당겨올 조각 수 / 전달할 최대 출력 길이
+    @Value("${compiler.stream.prefetch:32}")
+    private int streamPrefetch;
 
-        try {
-            return webClient.post()
-                    .uri(compilerPythonUrl)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(CodeRunResponseDTO.class)
-                    .block();
-        } catch (Exception e) {
-            System.out.println("🚨 WebClient 예외 발생: " + e.getMessage());
-            return CodeRunResponseDTO.builder()
-                    .stdout("")
-                    .stderr("WebClient 예외: " + e.getMessage())
-                    .exitCode(1)
-                    .success(false)
-                    .build();
-        }
+    @Value("${compiler.stream.max-output-chars:1000000}")
+    private long streamMaxOutputChars;
+
+    // 일괄 실행: 한 요청에서 동시에 실행할 테스트 케이스 수
+    @Value("${compiler.batch.concurrency:3}")
+    private int batchConcurrency;
+
+    /**
+     * @param requesterKey 실행 대기열의 사용자별 공정성 판단에 쓰이는 키 (사용자 ID 또는 IP)
+     */
+    public Mono<CodeRunResponseDTO> runCode(String code, String input, String lang, String requesterKey) {
+        return execute(ExecutionType.RUN, code, input, lang, requesterKey);
+    }
+
+    public Mono<CodeRunResponseDTO> visualizeCode(String code, String input, String lang, String requesterKey) {
+        return execute(ExecutionType.VISUALIZE, code, input, lang, requesterKey);
     }
 
-    public CodeRunResponseDTO visualizeCode(String code, String input, String lang) {
+    /**
+     * 시각화를 실행하고, 결과 trace 를 단계별로 나누어 서버에 저장합니다.
+     * 클라이언트는 반환된 실행 ID 로 필요한 단계만 조회합니다.
+     */
+    public Mono<VisualizationTraceStore.StoredTrace> visualizeToTrace(String code, String input, String lang, String requesterKey) {
+        return visualizeCode(code, input, lang, requesterKey)
+                // 큰 trace 를 나누는 작업이 네트워크 스레드를 붙잡지 않도록 별도 스케줄러에서 처리합니다.
+                .publishOn(Schedulers.parallel())
+                .map(traceStore::save);
+    }
+
+    /**
+     * 같은 코드를 여러 입력으로 실행합니다.
+     * 테스트 케이스는 batchConcurrency 개씩 동시에 실행되고, 결과는 요청 순서대로 전달됩니다.
+     * 대기열 초과 등으로 실행하지 못한 케이스는 실패 결과로 채워 나머지 케이스는 계속 진행합니다.
+     */
+    public Flux<TestCaseResultDTO> runBatch(String code, String lang, List<TestCaseDTO> testCases, String requesterKey) {
+        return Flux.range(0, testCases.size())
+                .flatMapSequential(index -> {
+                    TestCaseDTO testCase = testCases.get(index);
+                    return runCode(code, testCase.getInput(), lang, requesterKey)
+                            .onErrorResume(ExecutionRejectedException.class, e -> Mono.just(CodeRunResponseDTO.builder()
+                                    .stdout("")
+                                    .stderr(e.getMessage())
+                                    .exitCode(1)
+                                    .success(false)
+                                    .build()))
+                            .map(response -> toTestCaseResult(index, testCase, response));
+                }, batchConcurrency);
+    }
+
+    /**
+     * 실행 중 출력을 조각 단위로 받아 그대로 전달합니다.
+     * 클라이언트가 읽는 속도만큼만 컴파일러에서 읽어오므로 서버에 출력 전체가 쌓이지 않으며,
+     * 누적 출력이 한도를 넘으면 truncated 조각을 보내고 컴파일러 연결을 끊습니다.
+     */
+    public Flux<CodeOutputChunkDTO> streamCode(String code, String input, String lang, String requesterKey) {
         CodeRunRequestDTO request = new CodeRunRequestDTO(code, input, lang);
+        CompilerRoute route = compilerRouter.route(lang);
 
-        try {
-            return webClient.post()
-                    .uri(compilerPythonUrl.replace("/run", "/visualize"))  // ⭐ 핵심: /visualize 엔드포인트 사용
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(CodeRunResponseDTO.class)
-                    .block();
-        } catch (Exception e) {
-            System.out.println("🚨 WebClient 예외 발생 (visualize): " + e.getMessage());
-            return CodeRunResponseDTO.builder()
-                    .stdout("")
-                    .stderr("WebClient 예외 (visualize): " + e.getMessage())
-                    .exitCode(1)
-                    .success(false)
-                    .ast("")  // visualize는 ast 빈 문자열로라도 반환
-                    .build();
+        return route.getAdmissionController().runMany(requesterKey,
+                        () -> route.getBackendPool().executeMany(backend ->
+                                requestCompilerStream(backend.getWebClient(), ExecutionType.STREAM.resolveUri(backend.getRunUrl()), request)))
+                .limitRate(streamPrefetch)
+                .transform(this::limitOutput)
+                .onErrorResume(ExecutionRejectedException.class, e -> Flux.just(
+                        new CodeOutputChunkDTO(CodeOutputChunkDTO.REJECTED, String.valueOf(e.getRetryAfterSeconds()))))
+                .onErrorResume(e -> {
+                    log.error("🚨 WebClient 예외 발생 (stream, {}): {}", route.getName(), e.getMessage());
+                    return Flux.just(new CodeOutputChunkDTO(CodeOutputChunkDTO.ERROR, "WebClient 예외 (stream): " + e.getMessage()));
+                });
+    }
+
+    /**
+     * 캐시를 먼저 확인하고, 없으면 컴파일러 서버에 요청합니다.
+     * 동일한 요청이 이미 진행 중이면 새로 요청하지 않고 그 결과를 함께 받습니다.
+     * 실제 실행은 언어별 경로의 입장 제어기 동시 실행 한도 안에서, 요청을 지원하는 ExecutionBackend 가 수행합니다.
+     * 실제로 실행된 요청만 실행 기록에 남깁니다. (대기열에서 기다린 시간은 실행 시간에서 제외)
+     */
+    private Mono<CodeRunResponseDTO> execute(ExecutionType type, String code, String input, String lang, String requesterKey) {
+        String cacheKey = CodeExecutionCache.keyOf(type, code, input, lang);
+        CodeRunResponseDTO cached = executionCache.get(cacheKey);
+        if (cached != null) {
+            return Mono.just(cached);
         }
+
+        CodeRunRequestDTO request = new CodeRunRequestDTO(code, input, lang);
+        CompilerRoute route = compilerRouter.route(lang);
+
+        ExecutionBackend executionBackend = selectBackend(type, lang);
+
+        return executionCoalescer.execute(cacheKey, () -> route.getAdmissionController().run(requesterKey,
+                () -> Mono.defer(() -> {
+                    long startedAt = System.nanoTime();
+                    return executionBackend.execute(type, request)
+                            .doOnNext(response -> executionCache.put(cacheKey, code, response))
+                            .onErrorResume(e -> {
+                                log.error("🚨 실행 예외 발생 ({}, {}, {}): {}", type, route.getName(),
+                                        executionBackend.getClass().getSimpleName(), e.getMessage());
+                                return Mono.just(errorResponse(type, e));
+                            })
+                            .doOnNext(response -> historyRecorder.record(type, requesterKey, lang, code, response,
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)));
+                })));
+    }
+
+    private ExecutionBackend selectBackend(ExecutionType type, String lang) {
+        return executionBackends.stream()
+                .filter(backend -> backend.supports(type, lang))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("실행할 수 있는 백엔드가 없습니다: " + type + ", " + lang));
+    }
+
+    private Flux<CodeOutputChunkDTO> requestCompilerStream(WebClient webClient, String uri, CodeRunRequestDTO request) {
+        return webClient.post()
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .map(event -> new CodeOutputChunkDTO(
+                        event.event() != null ? event.event() : CodeOutputChunkDTO.STDOUT,
+                        event.data() != null ? event.data() : ""));
     }
 
+    /**
+     * stdout/stderr 누적 길이가 한도를 넘으면 남은 만큼만 보내고 truncated 조각으로 스트림을 끝냅니다.
+     */
+    private Flux<CodeOutputChunkDTO> limitOutput(Flux<CodeOutputChunkDTO> chunks) {
+        return Flux.defer(() -> {
+            AtomicLong emitted = new AtomicLong();
+            return chunks.handle((chunk, sink) -> {
+                if (!chunk.isOutput()) {
+                    sink.next(chunk);
+                    return;
+                }
+                long remaining = streamMaxOutputChars - emitted.get();
+                if (chunk.getData().length() <= remaining) {
+                    emitted.addAndGet(chunk.getData().length());
+                    sink.next(chunk);
+                    return;
+                }
+                if (remaining > 0) {
+                    sink.next(new CodeOutputChunkDTO(chunk.getType(), chunk.getData().substring(0, (int) remaining)));
+                }
+                sink.next(new CodeOutputChunkDTO(CodeOutputChunkDTO.TRUNCATED, String.valueOf(streamMaxOutputChars)));
+                sink.complete();
+            });
+        });
+    }
+
+    private TestCaseResultDTO toTestCaseResult(int index, TestCaseDTO testCase, CodeRunResponseDTO response) {
+        Boolean passed = testCase.getExpectedOutput() == null ? null
+                : response.isSuccess() && normalizeOutput(response.getStdout()).equals(normalizeOutput(testCase.getExpectedOutput()));
+        return TestCaseResultDTO.builder()
+                .index(index)
+                .stdout(response.getStdout())
+                .stderr(response.getStderr())
+                .exitCode(response.getExitCode())
+                .success(response.isSuccess())
+                .passed(passed)
+                .build();
+    }
 
+    /**
+     * 줄 끝 공백과 마지막 빈 줄 차이는 무시하고 출력을 비교합니다.
+     */
+    private static String normalizeOutput(String output) {
+        if (output == null) {
+            return "";
+        }
+        return output.replace("\r\n", "\n")
+                .lines()
+                .map(String::stripTrailing)
+                .collect(Collectors.joining("\n"))
+                .stripTrailing();
+    }
+
+    private CodeRunResponseDTO errorResponse(ExecutionType type, Throwable e) {
+        return CodeRunResponseDTO.builder()
+                .stdout("")
+                .stderr("실행 오류 (" + type.name().toLowerCase() + "): " + e.getMessage())
+                .exitCode(1)
+                .success(false)
+                .ast(type == ExecutionType.VISUALIZE ? "" : null)  // visualize는 ast 빈 문자열로라도 반환
+                .build();
+    }
 }
@@ -0,0 +1,143 @@
+package com.dmu.debug_visual.code;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 시각화 결과(ast)를 압축 형식으로 변환합니다. (Accept: application/vnd.debug-visual.compact+json)
+ *
+ * 매 단계마다 반복되는 필드 이름과 바뀌지 않은 값을 줄이기 위해 두 가지를 적용합니다.
+ * - 필드 이름 테이블: 객체의 필드 이름을 keys 배열의 인덱스(36진수 문자열)로 바꿉니다.
+ * - 단계 델타: 각 단계를 이전 단계와의 JSON Merge Patch(RFC 7386)로 보냅니다. {"d": patch}
+ *   값에 null 이 있거나 객체가 아니어서 패치로 표현할 수 없는 단계는 전체를 보냅니다. {"f": step}
+ *
+ * 결과: {"keys": [...], "meta": {ast 의 steps 외 필드}, "steps": [{"f": ...}, {"d": ...}, ...]}
+ * 복원: 각 단계에 이전 단계 기준으로 패치를 적용한 뒤, 필드 이름을 keys[parseInt(name, 36)] 로 되돌립니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompactTraceEncoder {
+
+    public static final String MEDIA_TYPE = "application/vnd.debug-visual.compact+json";
+
+    private static final String FULL = "f";
+    private static final String DELTA = "d";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * ast 를 압축 형식으로 변환합니다. 단계 목록(JSON 배열 또는 {"steps": [...]})이 아니면 null 을 반환합니다.
+     */
+    public JsonNode encode(String ast) {
+        if (ast == null || ast.isBlank()) {
+            return null;
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(ast);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+
+        ArrayNode steps;
+        ObjectNode meta = objectMapper.createObjectNode();
+        if (root.isArray()) {
+            steps = (ArrayNode) root;
+        } else if (root.isObject() && root.path("steps").isArray()) {
+            steps = (ArrayNode) root.get("steps");
+            meta = ((ObjectNode) root).deepCopy();
+            meta.remove("steps");
+        } else {
+            return null;
+        }
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        ArrayNode encodedSteps = objectMapper.createArrayNode();
+        JsonNode previous = null;
+        for (JsonNode step : steps) {
+            ObjectNode encoded = objectMapper.createObjectNode();
+            if (previous != null && previous.isObject() && step.isObject() && !containsNull(step)) {
+                encoded.set(DELTA, internKeys(diff((ObjectNode) previous, (ObjectNode) step), keys));
+            } else {
+                encoded.set(FULL, internKeys(step, keys));
+            }
+            encodedSteps.add(encoded);
+            previous = step;
+        }
+
+        // meta 에만 있는 필드 이름도 이름 테이블에 들어가도록, 테이블은 meta 까지 변환한 뒤에 만듭니다.
+        JsonNode encodedMeta = internKeys(meta, keys);
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode keyTable = result.putArray("keys");
+        keys.keySet().forEach(keyTable::add);
+        result.set("meta", encodedMeta);
+        result.set("steps", encodedSteps);
+        return result;
+    }
+
+    // Private Helper Methods
+
+    // 이전 단계 → 현재 단계로 가는 JSON Merge Patch (바뀌지 않은 필드는 생략, 사라진 필드는 null)
+    private ObjectNode diff(ObjectNode previous, ObjectNode current) {
+        ObjectNode patch = objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode before = previous.get(field.getKey());
+            JsonNode after = field.getValue();
+            if (after.equals(before)) {
+                continue;
+            }
+            if (before != null && before.isObject() && after.isObject()) {
+                patch.set(field.getKey(), diff((ObjectNode) before, (ObjectNode) after));
+            } else {
+                patch.set(field.getKey(), after);
+            }
+        }
+        previous.fieldNames().forEachRemaining(name -> {
+            if (!current.has(name)) {
+                patch.putNull(name);
+            }
+        });
+        return patch;
+    }
+
+    // 객체의 필드 이름을 이름 테이블 인덱스로 바꾼 복사본을 만듭니다.
+    private JsonNode internKeys(JsonNode node, Map<String, String> keys) {
+        if (node.isObject()) {
+            ObjectNode interned = objectMapper.createObjectNode();
+            node.fields().forEachRemaining(field -> interned.set(
+                    keys.computeIfAbsent(field.getKey(), name -> Integer.toString(keys.size(), 36)),
+                    internKeys(field.getValue(), keys)));
+            return interned;
+        }
+        if (node.isArray()) {
+            ArrayNode interned = objectMapper.createArrayNode();
+            node.forEach(element -> interned.add(internKeys(element, keys)));
+            return interned;
+        }
+        return node;
+    }
+
+    // Merge Patch 에서 null 은 "필드 삭제" 의미이므로, 실제 null 값이 있는 단계는 패치로 보내지 않습니다.
+    private static boolean containsNull(JsonNode node) {
+        if (node.isNull()) {
+            return true;
+        }
+        for (JsonNode child : node) {
+            if (containsNull(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
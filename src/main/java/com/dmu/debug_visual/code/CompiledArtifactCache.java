@@ -0,0 +1,227 @@
+package com.dmu.debug_visual.code;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 컴파일 결과물을 로컬 디스크에 보관하는 캐시
+ * (언어, 소스)의 해시를 키로 사용하므로, 입력값만 다른 실행은 다시 컴파일하지 않고 결과물을 재사용합니다.
+ * 전체 크기가 예산을 넘으면 가장 오래 사용되지 않은 결과물부터 삭제(LRU)합니다.
+ */
+@Slf4j
+@Component
+public class CompiledArtifactCache {
+
+    private static final String EXTENSION = ".artifact";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // key: 결과물 키, value: 저장된 파일 정보 (accessOrder = true 로 LRU 순서 유지)
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public CompiledArtifactCache(@Value("${compiler.artifact-cache.dir:${java.io.tmpdir}/debug-visual-artifacts}") String directory,
+                                 @Value("${compiler.artifact-cache.max-bytes:268435456}") long maxBytes,
+                                 MeterRegistry meterRegistry) throws IOException {
+        this.directory = Files.createDirectories(Path.of(directory));
+        this.maxBytes = maxBytes;
+
+        this.hitCounter = meterRegistry.counter("code.execution.compile.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("code.execution.compile.cache", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("code.execution.compile.cache.evictions");
+        Gauge.builder("code.execution.compile.cache.bytes", this, CompiledArtifactCache::getTotalBytes).register(meterRegistry);
+        Gauge.builder("code.execution.compile.cache.hit-ratio", this, CompiledArtifactCache::hitRatio).register(meterRegistry);
+
+        loadIndex();
+    }
+
+    public static String keyOf(String lang, String source) {
+        String raw = (lang == null ? "" : lang.trim().toLowerCase()) + '\u0000' + source;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 보관된 결과물을 읽어옵니다. 없거나 읽을 수 없으면 null 을 반환합니다.
+     */
+    public CompiledArtifact get(String key) {
+        Entry entry;
+        synchronized (index) {
+            entry = index.get(key);
+            if (entry == null) {
+                missCounter.increment();
+                return null;
+            }
+        }
+        // 파일 읽기는 잠금 밖에서 합니다. 그 사이 삭제되었으면 없는 것으로 처리합니다.
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(pathOf(key))))) {
+            String entryPoint = in.readUTF();
+            Map<String, byte[]> files = new LinkedHashMap<>();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                files.put(name, bytes);
+            }
+            hitCounter.increment();
+            return new CompiledArtifact(entryPoint, files);
+        } catch (IOException e) {
+            synchronized (index) {
+                // 읽는 사이 put 으로 새 결과물이 저장되었으면 그 결과물은 지우지 않습니다.
+                if (index.get(key) == entry) {
+                    remove(key);
+                }
+            }
+            missCounter.increment();
+            return null;
+        }
+    }
+
+    /**
+     * 결과물을 저장합니다. 저장에 실패해도 실행에는 영향을 주지 않습니다.
+     */
+    public void put(String key, CompiledArtifact artifact) {
+        Path target = pathOf(key);
+        try {
+            // 임시 파일에 모두 쓴 뒤 옮겨서, 읽는 쪽이 쓰다 만 파일을 보지 않도록 합니다.
+            Path temp = Files.createTempFile(directory, key, TEMP_EXTENSION);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeUTF(artifact.getEntryPoint());
+                out.writeInt(artifact.getFiles().size());
+                for (Map.Entry<String, byte[]> file : artifact.getFiles().entrySet()) {
+                    out.writeUTF(file.getKey());
+                    out.writeInt(file.getValue().length);
+                    out.write(file.getValue());
+                }
+            }
+            long size = Files.size(temp);
+
+            // 파일 교체와 색인 갱신을 같은 잠금 안에서 하여, 읽기 실패 처리가 새 결과물을 지우지 않도록 합니다.
+            synchronized (index) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Entry previous = index.put(key, new Entry(size));
+                totalBytes += size - (previous != null ? previous.size() : 0);
+                evictOverflow();
+            }
+        } catch (IOException e) {
+            log.warn("컴파일 결과물을 저장하지 못했습니다 ({}): {}", key, e.getMessage());
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (index) {
+            return totalBytes;
+        }
+    }
+
+    // Private Helper Methods
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> iterator = index.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue().size();
+            deleteQuietly(pathOf(eldest.getKey()));
+            evictionCounter.increment();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = index.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+        deleteQuietly(pathOf(key));
+    }
+
+    // 재시작 후에도 기존 결과물을 사용할 수 있도록, 디스크에 남아 있는 파일을 수정 시각 순서로 등록합니다.
+    // 저장 도중 종료되어 남은 임시 파일은 지웁니다.
+    private void loadIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(TEMP_EXTENSION))
+                    .forEach(CompiledArtifactCache::deleteQuietly);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparingLong(path -> path.toFile().lastModified()))
+                    .forEach(path -> {
+                        String name = path.getFileName().toString();
+                        long size = path.toFile().length();
+                        index.put(name.substring(0, name.length() - EXTENSION.length()), new Entry(size));
+                        totalBytes += size;
+                    });
+        }
+        evictOverflow();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("컴파일 결과물 삭제 실패: {}", path);
+        }
+    }
+
+    // 색인 항목. 같은 키라도 다시 저장하면 새 인스턴스가 되므로, 읽기 전후로 같은 결과물인지 비교하는 데 사용합니다.
+    private record Entry(long size) {
+    }
+
+    /**
+     * 컴파일 결과물. entryPoint 는 실행 진입점(예: Java main 클래스), files 는 이름별 바이트입니다.
+     */
+    @Getter
+    public static class CompiledArtifact {
+        private final String entryPoint;
+        private final Map<String, byte[]> files;
+
+        public CompiledArtifact(String entryPoint, Map<String, byte[]> files) {
+            this.entryPoint = entryPoint;
+            this.files = files;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.dmu.debug_visual.code;
+
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 컴파일러 서버 한 대의 연결 정보와 상태
+ * (처리 중인 요청 수, 상태 점검 결과, 일시 제외 여부, 서킷 브레이커)
+ */
+public class CompilerBackend {
+
+    @Getter private final String runUrl;          // 이 서버의 /run 주소
+    @Getter private final String healthUrl;       // 상태 점검 주소
+    @Getter private final WebClient webClient;    // 이 서버 전용 커넥션 풀을 사용하는 WebClient
+    @Getter private final BackendCircuitBreaker circuitBreaker;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    @Getter private volatile boolean healthy = true;   // 능동 상태 점검 결과
+    private volatile long ejectedUntil;        // 수동 이상 감지로 제외된 경우, 제외가 끝나는 시각
+    private int consecutiveFailures;           // CompilerBackendPool 의 lock 으로 보호
+    private int ejectionCount;                 // CompilerBackendPool 의 lock 으로 보호
+
+    public CompilerBackend(String runUrl, String healthUrl, WebClient webClient, BackendCircuitBreaker circuitBreaker) {
+        this.runUrl = runUrl;
+        this.healthUrl = healthUrl;
+        this.webClient = webClient;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * 상태 점검을 통과했고, 제외 중이 아니며, 서킷 브레이커가 호출을 허용하는지 확인합니다.
+     */
+    public boolean isAvailable(long now) {
+        return healthy && !isEjected(now) && circuitBreaker.isCallPermitted(now);
+    }
+
+    public boolean isEjected(long now) {
+        return now < ejectedUntil;
+    }
+
+    public int getOutstandingCount() {
+        return outstanding.get();
+    }
+
+    void incrementOutstanding() {
+        outstanding.incrementAndGet();
+    }
+
+    void decrementOutstanding() {
+        outstanding.decrementAndGet();
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    int incrementFailures() {
+        return ++consecutiveFailures;
+    }
+
+    void resetFailures() {
+        consecutiveFailures = 0;
+    }
+
+    void eject(long now, long baseEjectionMillis) {
+        ejectionCount++;
+        ejectedUntil = now + baseEjectionMillis * ejectionCount;
+        consecutiveFailures = 0;
+    }
+
+    void clearEjectionHistory() {
+        ejectionCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        return runUrl;
+    }
+}
@@ -0,0 +1,246 @@
+package com.dmu.debug_visual.code;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 한 경로(언어)에 속한 여러 컴파일러 서버 사이에서 요청을 분산합니다.
+ * - 처리 중인 요청이 가장 적은 서버를 선택 (least outstanding requests)
+ * - 연속 실패한 서버는 일정 시간 제외 (passive outlier ejection)
+ * - 서버별 서킷 브레이커로 실패율이 높은 서버 차단
+ * - 연결 자체가 실패한 경우 다른 서버로 한 번 더 시도
+ * - (선택) 응답이 늦으면 다른 서버로 같은 요청을 한 번 더 보내고 먼저 온 응답 사용 (hedged request)
+ *   추가 요청은 짧은 실행에만, 입장 제어기의 빈 실행 슬롯이 있을 때만 보냅니다.
+ */
+@Slf4j
+public class CompilerBackendPool {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final List<CompilerBackend> backends;
+
+    private final int consecutiveFailuresToEject;
+    private final long baseEjectionMillis;
+    private final int maxEjectionPercent;
+    private final HedgingPolicy hedgingPolicy;  // null 이면 hedged request 를 사용하지 않음
+    private final ExecutionAdmissionController hedgeAdmission;  // 추가 요청이 차지할 실행 슬롯 (null 이면 제한 없음)
+
+    public CompilerBackendPool(String name, List<CompilerBackend> backends,
+                               int consecutiveFailuresToEject, long baseEjectionMillis, int maxEjectionPercent,
+                               HedgingPolicy hedgingPolicy, ExecutionAdmissionController hedgeAdmission) {
+        this.name = name;
+        this.backends = List.copyOf(backends);
+        this.consecutiveFailuresToEject = consecutiveFailuresToEject;
+        this.baseEjectionMillis = baseEjectionMillis;
+        this.maxEjectionPercent = maxEjectionPercent;
+        this.hedgingPolicy = hedgingPolicy;
+        this.hedgeAdmission = hedgeAdmission;
+    }
+
+    /**
+     * 사용 가능한 서버 하나를 골라 호출합니다.
+     * @param call 선택된 서버로 보낼 요청을 만드는 함수
+     */
+    public <T> Mono<T> execute(Function<CompilerBackend, Mono<T>> call) {
+        return execute(call, new HashSet<>());
+    }
+
+    /**
+     * 같은 요청을 여러 번 보내도 안전한(멱등) 호출에 사용합니다.
+     * 최근 응답 시간 백분위수만큼 기다려도 응답이 없으면 다른 서버로 한 번 더 보내고,
+     * 먼저 도착한 응답을 사용하며 나머지 요청은 취소합니다. hedging 이 꺼져 있으면 execute 와 같습니다.
+     * 추가 요청은 실행 슬롯이 바로 비어 있을 때만 보내고, 짧은 실행 기준 시간 안에 끝나지 않으면 끊습니다.
+     */
+    public <T> Mono<T> executeHedged(Function<CompilerBackend, Mono<T>> call) {
+        if (hedgingPolicy == null || backends.size() < 2) {
+            return execute(call);
+        }
+        return Mono.defer(() -> {
+            Duration hedgeDelay = hedgingPolicy.onRequest();
+            // 두 요청이 같은 서버로 가지 않도록 선택된 서버를 함께 기록합니다.
+            Set<CompilerBackend> excluded = ConcurrentHashMap.newKeySet();
+            Mono<T> primary = execute(call, excluded);
+            if (hedgeDelay == null) {
+                return primary;
+            }
+
+            // 추가 요청이 실패해도 원래 요청 결과를 기다립니다. 원래 요청이 실패하면 그 오류를 그대로 전달합니다.
+            Mono<T> hedge = Mono.delay(hedgeDelay)
+                    .flatMap(tick -> hedgeAdmission != null
+                            ? hedgeAdmission.tryRunNow(() -> hedge(call, excluded))
+                            : hedge(call, excluded))
+                    .onErrorResume(e -> Mono.empty());
+            return Flux.merge(primary, hedge).next();
+        });
+    }
+
+    /**
+     * 사용 가능한 서버 하나를 골라 스트리밍 호출합니다. (도중에 끊긴 스트림은 다른 서버로 재시도하지 않습니다.)
+     */
+    public <T> Flux<T> executeMany(Function<CompilerBackend, Flux<T>> call) {
+        return Flux.defer(() -> {
+            CompilerBackend backend = select(Set.of());
+            if (backend == null) {
+                return Flux.error(new IllegalStateException("사용 가능한 컴파일러 서버가 없습니다. (" + name + ")"));
+            }
+            return Flux.defer(() -> {
+                backend.incrementOutstanding();
+                return call.apply(backend);
+            })
+                    .doOnComplete(() -> onSuccess(backend))
+                    .doOnError(e -> {
+                        if (isBackendFailure(e)) {
+                            onFailure(backend);
+                        } else {
+                            onSuccess(backend);
+                        }
+                    })
+                    .doOnCancel(() -> backend.getCircuitBreaker().onCancel())
+                    .doFinally(signal -> backend.decrementOutstanding());
+        });
+    }
+
+    // Private Helper Methods
+
+    // 보낼 서버가 없으면 예산을 돌려놓고 추가 요청 없이 끝냅니다. 제한 시간 초과로 끊긴 추가 요청은 서버 실패로 보지 않습니다.
+    private <T> Mono<T> hedge(Function<CompilerBackend, Mono<T>> call, Set<CompilerBackend> excluded) {
+        return Mono.defer(() -> {
+            if (!hedgingPolicy.tryAcquireHedge()) {
+                return Mono.<T>empty();
+            }
+            CompilerBackend backend = select(excluded);
+            if (backend == null) {
+                hedgingPolicy.refundHedge();
+                return Mono.<T>empty();
+            }
+            excluded.add(backend);
+            hedgingPolicy.recordHedgeSent();
+            return call(backend, call)
+                    .timeout(hedgingPolicy.getMaxRun())
+                    .doOnNext(result -> hedgingPolicy.recordHedgeWon());
+        });
+    }
+
+    private <T> Mono<T> execute(Function<CompilerBackend, Mono<T>> call, Set<CompilerBackend> excluded) {
+        return Mono.defer(() -> {
+            CompilerBackend backend = select(excluded);
+            if (backend == null) {
+                return Mono.error(new IllegalStateException("사용 가능한 컴파일러 서버가 없습니다. (" + name + ")"));
+            }
+            excluded.add(backend);
+
+            return call(backend, call)
+                    .onErrorResume(CompilerBackendPool::isConnectFailure, e -> {
+                        // 요청이 서버에 도달하지 못했으므로 다른 서버로 다시 보내도 안전합니다.
+                        if (excluded.size() >= backends.size()) {
+                            return Mono.error(e);
+                        }
+                        log.warn("[{}] 컴파일러 서버 연결 실패, 다른 서버로 재시도: {}", name, backend);
+                        return execute(call, excluded);
+                    });
+        });
+    }
+
+    private <T> Mono<T> call(CompilerBackend backend, Function<CompilerBackend, Mono<T>> call) {
+        AtomicLong startedAt = new AtomicLong();
+        return Mono.defer(() -> {
+            backend.incrementOutstanding();
+            startedAt.set(System.nanoTime());
+            return call.apply(backend);
+        })
+                .doOnSuccess(result -> {
+                    if (hedgingPolicy != null) {
+                        hedgingPolicy.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt.get()));
+                    }
+                    onSuccess(backend);
+                })
+                .doOnError(e -> {
+                    if (isBackendFailure(e)) {
+                        onFailure(backend);
+                    } else {
+                        onSuccess(backend);
+                    }
+                })
+                .doOnCancel(() -> backend.getCircuitBreaker().onCancel())
+                .doFinally(signal -> backend.decrementOutstanding());
+    }
+
+    /**
+     * 사용 가능한 서버 중 처리 중인 요청이 가장 적은 서버를 선택합니다.
+     */
+    private CompilerBackend select(Set<CompilerBackend> excluded) {
+        long now = System.currentTimeMillis();
+        List<CompilerBackend> candidates = backends.stream()
+                .filter(backend -> !excluded.contains(backend))
+                .filter(backend -> backend.isAvailable(now))
+                .sorted(Comparator.comparingInt(CompilerBackend::getOutstandingCount))
+                .toList();
+
+        for (CompilerBackend candidate : candidates) {
+            if (candidate.getCircuitBreaker().tryAcquire(now)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void onSuccess(CompilerBackend backend) {
+        backend.getCircuitBreaker().onSuccess();
+        synchronized (this) {
+            backend.resetFailures();
+            backend.clearEjectionHistory();
+        }
+    }
+
+    private void onFailure(CompilerBackend backend) {
+        long now = System.currentTimeMillis();
+        backend.getCircuitBreaker().onFailure(now);
+
+        synchronized (this) {
+            if (backend.incrementFailures() < consecutiveFailuresToEject) {
+                return;
+            }
+            long ejectedCount = backends.stream().filter(b -> b.isEjected(now)).count();
+            // 너무 많은 서버가 한꺼번에 제외되지 않도록 비율을 제한합니다.
+            if ((ejectedCount + 1) * 100 > (long) maxEjectionPercent * backends.size()) {
+                return;
+            }
+            backend.eject(now, baseEjectionMillis);
+            log.warn("[{}] 연속 실패로 컴파일러 서버를 일시 제외합니다: {}", name, backend);
+        }
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        return e instanceof WebClientRequestException && e.getCause() instanceof ConnectException;
+    }
+
+    /**
+     * 서버 문제로 볼 수 있는 실패인지 판단합니다. (연결 실패, 타임아웃, 5xx)
+     * 4xx 는 요청 자체의 문제이므로 서버 실패로 보지 않습니다.
+     */
+    private static boolean isBackendFailure(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || e.getCause() instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,52 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.config.CompilerProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 컴파일러 서버의 상태를 주기적으로 점검합니다. (active health check)
+ * 응답이 없거나 5xx 를 반환하는 서버는 다음 점검에서 회복될 때까지 선택 대상에서 빠집니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "compiler.health-check", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CompilerHealthChecker {
+
+    private final CompilerRouter compilerRouter;
+    private final CompilerProperties compilerProperties;
+
+    @Scheduled(fixedDelayString = "${compiler.health-check.interval-ms:10000}")
+    public void checkBackends() {
+        Duration timeout = Duration.ofMillis(compilerProperties.getHealthCheck().getTimeoutMs());
+        compilerRouter.getAllRoutes().stream()
+                .flatMap(route -> route.getBackendPool().getBackends().stream())
+                .distinct()
+                .forEach(backend -> probe(backend, timeout));
+    }
+
+    // Private Helper Methods
+
+    private void probe(CompilerBackend backend, Duration timeout) {
+        backend.getWebClient().get()
+                .uri(backend.getHealthUrl())
+                .exchangeToMono(response -> response.releaseBody()
+                        // 서버가 응답만 한다면 (4xx 포함) 살아있는 것으로 봅니다.
+                        .thenReturn(!response.statusCode().is5xxServerError()))
+                .timeout(timeout)
+                .onErrorReturn(false)
+                .subscribe(healthy -> {
+                    if (backend.isHealthy() != healthy) {
+                        log.warn("컴파일러 서버 상태 변경: {} → {}", backend, healthy ? "UP" : "DOWN");
+                    }
+                    backend.setHealthy(healthy);
+                });
+    }
+}
@@ -0,0 +1,16 @@
+package com.dmu.debug_visual.code;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 한 언어(또는 기본 경로)의 컴파일러 연결 정보
+ * 언어마다 컴파일러 서버(커넥션 풀)와 입장 제어기를 따로 가지므로, 한 언어의 지연이 다른 언어에 영향을 주지 않습니다.
+ */
+@Getter
+@Builder
+public class CompilerRoute {
+    private final String name;                                   // 경로 이름 (언어 또는 "default")
+    private final CompilerBackendPool backendPool;               // 이 경로에 속한 컴파일러 서버 목록
+    private final ExecutionAdmissionController admissionController; // 이 경로 전용 동시 실행 제한
+}
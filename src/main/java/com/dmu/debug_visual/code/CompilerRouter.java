@@ -0,0 +1,37 @@
+package com.dmu.debug_visual.code;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 언어에 맞는 컴파일러 경로를 선택합니다.
+ * 별도 설정이 없는 언어는 기본 경로로 보냅니다.
+ */
+public class CompilerRouter {
+
+    // key: 소문자 언어 이름, value: 해당 언어 전용 경로
+    private final Map<String, CompilerRoute> routes;
+    private final CompilerRoute defaultRoute;
+
+    public CompilerRouter(Map<String, CompilerRoute> routes, CompilerRoute defaultRoute) {
+        this.routes = Map.copyOf(routes);
+        this.defaultRoute = defaultRoute;
+    }
+
+    public CompilerRoute route(String lang) {
+        if (lang == null) {
+            return defaultRoute;
+        }
+        return routes.getOrDefault(lang.trim().toLowerCase(), defaultRoute);
+    }
+
+    /**
+     * 기본 경로를 포함한 모든 경로를 반환합니다. (상태 점검용)
+     */
+    public List<CompilerRoute> getAllRoutes() {
+        List<CompilerRoute> allRoutes = new ArrayList<>(routes.values());
+        allRoutes.add(defaultRoute);
+        return allRoutes;
+    }
+}
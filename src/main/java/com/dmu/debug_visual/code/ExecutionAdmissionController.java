@@ -0,0 +1,270 @@
+package com.dmu.debug_visual.code;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 컴파일러로 나가는 실행 요청의 동시 실행 수를 제한하는 입장 제어기
+ * 동시 실행 한도를 넘는 요청은 사용자별 대기열에 들어가고, 사용자 간 라운드로빈으로 순서를 받습니다.
+ * 대기열이 가득 차면 즉시 {@link ExecutionRejectedException}으로 거절합니다.
+ */
+@Slf4j
+public class ExecutionAdmissionController {
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final int maxQueuedPerUser;
+    private final Duration queueTimeout;
+
+    private final Object lock = new Object();
+    private int running;
+    private int queued;
+    // key: 사용자 키, value: 해당 사용자의 대기 요청 (삽입 순서 = 라운드로빈 순서)
+    private final LinkedHashMap<String, ArrayDeque<Waiter>> waitersByUser = new LinkedHashMap<>();
+
+    // 실행 시간의 지수 이동 평균 (Retry-After 추정용)
+    private volatile double averageServiceMillis = 1000;
+
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public ExecutionAdmissionController(String name, int maxConcurrency, int maxQueueSize, int maxQueuedPerUser,
+                                        Duration queueTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.queueTimeout = queueTimeout;
+
+        this.waitTimer = Timer.builder("code.execution.admission.wait")
+                .tag("pool", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("code.execution.admission.rejected", "pool", name);
+        Gauge.builder("code.execution.admission.queue", this, ExecutionAdmissionController::getQueued)
+                .tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("code.execution.admission.running", this, ExecutionAdmissionController::getRunning)
+                .tag("pool", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 실행 슬롯을 얻은 뒤 작업을 수행하고, 완료/에러/취소 시 슬롯을 반납합니다.
+     * @param userKey 공정성 판단에 사용할 사용자 키 (사용자 ID 또는 IP)
+     * @param task    슬롯을 얻은 뒤 실행할 작업
+     */
+    public <T> Mono<T> run(String userKey, Supplier<Mono<T>> task) {
+        return Mono.usingWhen(
+                acquire(userKey),
+                permit -> permit.take() ? task.get() : Mono.<T>empty(),
+                permit -> Mono.fromRunnable(permit::release));
+    }
+
+    /**
+     * 결과를 여러 번 나누어 내보내는 작업(스트리밍)용. 스트림이 끝나거나 취소될 때 슬롯을 반납합니다.
+     */
+    public <T> Flux<T> runMany(String userKey, Supplier<Flux<T>> task) {
+        return Flux.usingWhen(
+                acquire(userKey),
+                permit -> permit.take() ? task.get() : Flux.<T>empty(),
+                permit -> Mono.fromRunnable(permit::release));
+    }
+
+    /**
+     * 실행 슬롯이 지금 바로 비어 있을 때만 작업을 수행합니다. (hedged request 용)
+     * 대기열에 들어가지 않으며, 빈 슬롯이 없거나 대기 중인 요청이 있으면 작업 없이 빈 Mono 로 끝납니다.
+     */
+    public <T> Mono<T> tryRunNow(Supplier<Mono<T>> task) {
+        return Mono.defer(() -> {
+            synchronized (lock) {
+                if (running >= maxConcurrency || queued > 0) {
+                    return Mono.<T>empty();
+                }
+                running++;
+            }
+            Permit permit = new Permit();
+            permit.take();
+            return Mono.usingWhen(Mono.just(permit),
+                    taken -> task.get(),
+                    taken -> Mono.fromRunnable(taken::release));
+        });
+    }
+
+    public int getQueued() {
+        synchronized (lock) {
+            return queued;
+        }
+    }
+
+    public int getRunning() {
+        synchronized (lock) {
+            return running;
+        }
+    }
+
+    // Private Helper Methods
+
+    private Mono<Permit> acquire(String userKey) {
+        Mono<Permit> acquire = Mono.create(sink -> {
+            boolean admitted = false;
+            boolean rejected = false;
+            synchronized (lock) {
+                ArrayDeque<Waiter> userQueue = waitersByUser.get(userKey);
+                int userQueued = userQueue == null ? 0 : userQueue.size();
+
+                if (running < maxConcurrency && queued == 0) {
+                    running++;
+                    admitted = true;
+                } else if (queued >= maxQueueSize || userQueued >= maxQueuedPerUser) {
+                    rejected = true;
+                } else {
+                    Waiter waiter = new Waiter(userKey, sink, System.nanoTime());
+                    waitersByUser.computeIfAbsent(userKey, k -> new ArrayDeque<>()).addLast(waiter);
+                    queued++;
+                    sink.onCancel(() -> cancel(waiter));
+                }
+            }
+
+            if (admitted) {
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                sink.success(new Permit());
+            } else if (rejected) {
+                rejectedCounter.increment();
+                sink.error(new ExecutionRejectedException(
+                        "실행 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", estimateRetryAfterSeconds()));
+            }
+        });
+
+        return acquire.timeout(queueTimeout)
+                .onErrorMap(TimeoutException.class, e -> {
+                    rejectedCounter.increment();
+                    return new ExecutionRejectedException("실행 대기 시간이 초과되었습니다.", estimateRetryAfterSeconds());
+                });
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit orphan = null;
+        synchronized (lock) {
+            if (waiter.permit == null) {
+                ArrayDeque<Waiter> userQueue = waitersByUser.get(waiter.userKey);
+                if (userQueue != null && userQueue.remove(waiter)) {
+                    queued--;
+                    if (userQueue.isEmpty()) {
+                        waitersByUser.remove(waiter.userKey);
+                    }
+                }
+            } else {
+                orphan = waiter.permit;
+            }
+        }
+        // 슬롯을 받은 직후 취소된 경우, 작업이 시작되지 않았다면 슬롯을 반납합니다.
+        if (orphan != null && orphan.abandon()) {
+            orphan.release();
+        }
+    }
+
+    /**
+     * 반납된 슬롯을 다음 사용자의 대기 요청에 넘겨줍니다. (사용자 간 라운드로빈)
+     */
+    private void dispatchNext() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (lock) {
+            while (running < maxConcurrency && queued > 0) {
+                Iterator<Map.Entry<String, ArrayDeque<Waiter>>> iterator = waitersByUser.entrySet().iterator();
+                Map.Entry<String, ArrayDeque<Waiter>> next = iterator.next();
+                ArrayDeque<Waiter> userQueue = next.getValue();
+                Waiter waiter = userQueue.pollFirst();
+                iterator.remove();
+                if (!userQueue.isEmpty()) {
+                    // 남은 요청이 있으면 순서의 맨 뒤로 보냅니다.
+                    waitersByUser.put(next.getKey(), userQueue);
+                }
+                queued--;
+                running++;
+                waiter.permit = new Permit();
+                granted.add(waiter);
+            }
+        }
+
+        // 구독자 쪽 작업이 lock 을 잡은 채로 실행되지 않도록 lock 밖에서 슬롯을 전달합니다.
+        for (Waiter waiter : granted) {
+            waitTimer.record(System.nanoTime() - waiter.queuedAt, TimeUnit.NANOSECONDS);
+            waiter.sink.success(waiter.permit);
+        }
+    }
+
+    private long estimateRetryAfterSeconds() {
+        double waitMillis = (queued + 1) * averageServiceMillis / Math.max(1, maxConcurrency);
+        return Math.max(1, (long) Math.ceil(waitMillis / 1000));
+    }
+
+    private static final class Waiter {
+        private final String userKey;
+        private final MonoSink<Permit> sink;
+        private final long queuedAt;
+        private Permit permit; // lock 으로 보호
+
+        private Waiter(String userKey, MonoSink<Permit> sink, long queuedAt) {
+            this.userKey = userKey;
+            this.sink = sink;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    /**
+     * 실행 슬롯 하나. GRANTED → TAKEN(작업 시작) → RELEASED 순서로 상태가 바뀌며, 반납은 한 번만 이루어집니다.
+     */
+    private final class Permit {
+        private static final int GRANTED = 0;
+        private static final int TAKEN = 1;
+        private static final int ABANDONED = 2;
+        private static final int RELEASED = 3;
+
+        private final AtomicInteger state = new AtomicInteger(GRANTED);
+        private final long grantedAt = System.nanoTime();
+
+        boolean take() {
+            return state.compareAndSet(GRANTED, TAKEN);
+        }
+
+        boolean abandon() {
+            return state.compareAndSet(GRANTED, ABANDONED);
+        }
+
+        void release() {
+            int previous = state.getAndSet(RELEASED);
+            if (previous == RELEASED) {
+                return;
+            }
+            if (previous == TAKEN) {
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - grantedAt);
+                averageServiceMillis = averageServiceMillis * 0.9 + elapsedMillis * 0.1;
+            }
+            synchronized (lock) {
+                running--;
+            }
+            log.debug("[{}] execution slot released", name);
+            dispatchNext();
+        }
+    }
+}
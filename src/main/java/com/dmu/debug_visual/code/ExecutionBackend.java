@@ -0,0 +1,23 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * 코드를 실제로 실행하는 구현체
+ * CodeExecutionService 는 캐시, 중복 요청 합치기, 입장 제어를 거친 뒤 요청을 지원하는 첫 번째 구현체에 실행을 맡깁니다.
+ * 구현체 간 우선순위는 @Order 로 정합니다.
+ */
+public interface ExecutionBackend {
+
+    /**
+     * 이 구현체가 해당 실행 종류와 언어를 처리할 수 있는지 여부
+     */
+    boolean supports(ExecutionType type, String lang);
+
+    /**
+     * 코드를 실행합니다. 구독이 취소되면 진행 중인 실행도 중단해야 합니다.
+     */
+    Mono<CodeRunResponseDTO> execute(ExecutionType type, CodeRunRequestDTO request);
+}
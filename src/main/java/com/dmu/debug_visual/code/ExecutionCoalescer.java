@@ -0,0 +1,90 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 동일한 실행 요청이 동시에 들어오면 컴파일러 호출을 한 번만 수행하고,
+ * 그 결과를 기다리던 모든 요청에 함께 전달합니다. (single-flight)
+ */
+@Component
+public class ExecutionCoalescer {
+
+    // key: 실행 요청 키, value: 진행 중인 컴파일러 호출
+    private final Map<String, Mono<CodeRunResponseDTO>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter upstreamCounter;
+    private final Counter coalescedCounter;
+    private final Counter cancelledCounter;
+
+    public ExecutionCoalescer(MeterRegistry meterRegistry) {
+        this.upstreamCounter = meterRegistry.counter("code.execution.upstream.calls");
+        this.coalescedCounter = meterRegistry.counter("code.execution.coalesced");
+        this.cancelledCounter = meterRegistry.counter("code.execution.cancelled", "reason", "upstream");
+        Gauge.builder("code.execution.in-flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 같은 키의 호출이 진행 중이면 그 결과를 공유하고, 없으면 새로 호출합니다.
+     * 공유 중인 모든 구독자가 취소하면 컴파일러 호출도 함께 취소됩니다.
+     * @param key      실행 요청 키 (코드, 입력값, 언어, 실행 종류)
+     * @param upstream 실제 컴파일러 호출을 만드는 함수
+     */
+    public Mono<CodeRunResponseDTO> execute(String key, Supplier<Mono<CodeRunResponseDTO>> upstream) {
+        return Mono.defer(() -> {
+            AtomicBoolean leader = new AtomicBoolean(false);
+            Mono<CodeRunResponseDTO> shared = inFlight.computeIfAbsent(key, k -> {
+                leader.set(true);
+                return share(k, upstream);
+            });
+
+            if (leader.get()) {
+                upstreamCounter.increment();
+            } else {
+                coalescedCounter.increment();
+            }
+            return shared;
+        });
+    }
+
+    private Mono<CodeRunResponseDTO> share(String key, Supplier<Mono<CodeRunResponseDTO>> upstream) {
+        AtomicReference<Mono<CodeRunResponseDTO>> self = new AtomicReference<>();
+        AtomicReference<CodeRunResponseDTO> result = new AtomicReference<>();
+        Runnable release = () -> inFlight.remove(key, self.get());
+
+        // 결과를 저장하고 맵에서 제거한 뒤 구독자에게 전달하여, 이후 요청은 새 호출(또는 캐시)을 사용하도록 합니다.
+        Flux<CodeRunResponseDTO> source = Flux.defer(upstream::get)
+                .doOnNext(response -> {
+                    result.set(response);
+                    release.run();
+                })
+                .doOnTerminate(release)
+                .doOnCancel(() -> {
+                    // 기다리던 요청이 모두 취소되어 컴파일러 호출까지 끊긴 경우
+                    cancelledCounter.increment();
+                    release.run();
+                })
+                .share();
+
+        // 맵에서 호출을 꺼낸 직후 결과가 전달되어 버린 요청은 완료 신호만 받으므로, 저장된 결과를 대신 전달합니다.
+        Mono<CodeRunResponseDTO> shared = Mono.defer(() -> {
+            CodeRunResponseDTO done = result.get();
+            return done != null
+                    ? Mono.just(done)
+                    : Mono.fromDirect(source).switchIfEmpty(Mono.fromSupplier(result::get));
+        });
+        self.set(shared);
+        return shared;
+    }
+}
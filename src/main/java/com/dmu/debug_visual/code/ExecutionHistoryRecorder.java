@@ -0,0 +1,239 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 실행 기록(ExecutionRecord)을 메모리 원형 버퍼에 모았다가 백그라운드 스레드에서 JDBC 배치로 저장합니다.
+ * 실행 경로는 버퍼에 넣기만 하고 DB 를 기다리지 않으며, 버퍼가 가득 차면 정책에 따라 기록을 버립니다.
+ * - DROP_NEWEST: 새 기록을 버림 (이미 모인 기록 보존)
+ * - DROP_OLDEST: 가장 오래된 기록을 버리고 새 기록을 넣음 (최근 기록 보존)
+ * 버퍼에는 소스 대신 해시만 담고, 문자열 값은 컬럼 길이에 맞게 잘라 넣어 기록 하나 때문에 배치 전체가 실패하지 않게 합니다.
+ */
+@Slf4j
+@Component
+public class ExecutionHistoryRecorder {
+
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO execution_record "
+            + "(requester, lang, type, code_hash, duration_ms, exit_code, output_size, executed_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // execution_record 컬럼 길이 (ExecutionRecord 와 같게 유지)
+    static final int MAX_REQUESTER_LENGTH = 255;
+    static final int MAX_LANG_LENGTH = 20;
+    static final int MAX_TYPE_LENGTH = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final OverflowPolicy overflowPolicy;
+
+    // 원형 버퍼: head 가 가장 오래된 기록, size 개가 차 있음
+    private final PendingRecord[] ring;
+    private int head;
+    private int size;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Counter writtenCounter;
+    private final Counter overflowCounter;
+    private final Counter writeFailureCounter;
+
+    /**
+     * @param capacity            버퍼에 모아 둘 최대 기록 수
+     * @param batchSize           한 번에 저장할 기록 수 (이만큼 모이면 주기를 기다리지 않고 저장)
+     * @param flushIntervalMillis 기록이 적어도 이 주기마다 저장
+     */
+    public ExecutionHistoryRecorder(JdbcTemplate jdbcTemplate,
+                                    @Value("${compiler.history.enabled:true}") boolean enabled,
+                                    @Value("${compiler.history.capacity:10000}") int capacity,
+                                    @Value("${compiler.history.batch-size:200}") int batchSize,
+                                    @Value("${compiler.history.flush-interval-ms:1000}") long flushIntervalMillis,
+                                    @Value("${compiler.history.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.ring = new PendingRecord[capacity];
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.overflowPolicy = overflowPolicy;
+
+        this.writtenCounter = meterRegistry.counter("code.execution.history.written");
+        this.overflowCounter = meterRegistry.counter("code.execution.history.dropped", "reason", "overflow");
+        this.writeFailureCounter = meterRegistry.counter("code.execution.history.dropped", "reason", "write-failure");
+        Gauge.builder("code.execution.history.buffered", this, ExecutionHistoryRecorder::getBufferedCount)
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::runWriter, "execution-history-writer");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * 실행 결과를 기록합니다. 버퍼에 넣기만 하므로 DB 상태와 관계없이 바로 반환됩니다.
+     * 소스는 여기서 해시로 바꾸므로, 버퍼가 차지하는 메모리는 소스 크기와 관계없이 기록 수에 비례합니다.
+     */
+    public void record(ExecutionType type, String requesterKey, String lang, String code,
+                       CodeRunResponseDTO response, long durationMillis) {
+        if (!enabled || !running) {
+            return;
+        }
+        long outputSize = lengthOf(response.getStdout()) + lengthOf(response.getStderr());
+        PendingRecord pending = new PendingRecord(
+                truncate(requesterKey, MAX_REQUESTER_LENGTH),
+                truncate(lang, MAX_LANG_LENGTH),
+                truncate(type.name(), MAX_TYPE_LENGTH),
+                CompiledArtifactCache.keyOf(lang, code != null ? code : ""),
+                durationMillis, response.getExitCode(), outputSize, LocalDateTime.now());
+
+        lock.lock();
+        try {
+            if (size == ring.length) {
+                overflowCounter.increment();
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    return;
+                }
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                size--;
+            }
+            ring[(head + size) % ring.length] = pending;
+            size++;
+            if (size >= batchSize) {
+                batchReady.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getBufferedCount() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 종료 시 남은 기록을 저장하고 작성 스레드를 멈춥니다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // Private Helper Methods
+
+    private void runWriter() {
+        while (running) {
+            lock.lock();
+            try {
+                if (running && size < batchSize) {
+                    batchReady.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                lock.unlock();
+            }
+            flush();
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<PendingRecord> batch;
+        while (!(batch = drain()).isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private List<PendingRecord> drain() {
+        lock.lock();
+        try {
+            int count = Math.min(size, batchSize);
+            List<PendingRecord> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                batch.add(ring[head]);
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+            }
+            size -= count;
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 저장에 실패한 배치는 다시 시도하지 않고 버립니다. (DB 장애 중 버퍼가 계속 밀리지 않도록)
+    private void write(List<PendingRecord> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, record) -> {
+                statement.setString(1, record.requester());
+                statement.setString(2, record.lang());
+                statement.setString(3, record.type());
+                statement.setString(4, record.codeHash());
+                statement.setLong(5, record.durationMillis());
+                statement.setInt(6, record.exitCode());
+                statement.setLong(7, record.outputSize());
+                statement.setTimestamp(8, Timestamp.valueOf(record.executedAt()));
+            });
+            writtenCounter.increment(batch.size());
+        } catch (DataAccessException e) {
+            writeFailureCounter.increment(batch.size());
+            log.warn("실행 기록 {}건을 저장하지 못했습니다: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static long lengthOf(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private record PendingRecord(String requester, String lang, String type, String codeHash, long durationMillis,
+                                 int exitCode, long outputSize, LocalDateTime executedAt) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import lombok.Getter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * 비동기로 제출된 실행 작업
+ * 결과가 나오기 전까지는 PENDING 상태이며, 완료되면 결과와 함께 COMPLETED 또는 FAILED 가 됩니다.
+ */
+@Getter
+public class ExecutionJob {
+
+    public enum Status {
+        PENDING,    // 대기 또는 실행 중
+        COMPLETED,  // 실행 완료 (코드 자체의 실행 실패 포함)
+        FAILED,     // 대기열 초과 등으로 실행하지 못함
+        CANCELLED   // 사용자가 취소함
+    }
+
+    private final String jobId;
+    private final ExecutionType type;
+    private final long createdAt;
+
+    private volatile Status status = Status.PENDING;
+    private volatile CodeRunResponseDTO result;
+    private volatile long finishedAt;
+
+    // 백그라운드 실행 구독. 취소 시 dispose 하여 컴파일러 호출까지 끊습니다.
+    @Getter(lombok.AccessLevel.NONE)
+    private volatile Disposable execution;
+
+    // 작업 완료 시 한 번만 신호를 보내며, long-poll 요청이 이를 기다립니다.
+    @Getter(lombok.AccessLevel.NONE)
+    private final Sinks.Empty<Void> done = Sinks.empty();
+
+    public ExecutionJob(String jobId, ExecutionType type, long createdAt) {
+        this.jobId = jobId;
+        this.type = type;
+        this.createdAt = createdAt;
+    }
+
+    public boolean isFinished() {
+        return status != Status.PENDING;
+    }
+
+    /**
+     * 작업이 끝나면 완료되는 Mono. 이미 끝난 작업이면 바로 완료됩니다.
+     */
+    public Mono<Void> awaitFinished() {
+        return done.asMono();
+    }
+
+    void attach(Disposable execution) {
+        this.execution = execution;
+    }
+
+    void cancel() {
+        Disposable current = execution;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    void finish(Status status, CodeRunResponseDTO result, long now) {
+        this.result = result;
+        this.finishedAt = now;
+        this.status = status;
+        done.tryEmitEmpty();
+    }
+}
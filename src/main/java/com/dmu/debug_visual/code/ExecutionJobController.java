@@ -0,0 +1,133 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.ExecutionJobDTO;
+import com.dmu.debug_visual.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/code/jobs")
+@Tag(name = "비동기 코드 실행 API", description = "실행 요청을 작업으로 제출하고, 작업 ID 로 상태와 결과를 조회합니다.")
+public class ExecutionJobController {
+
+    private final ExecutionJobService executionJobService;
+
+    // long-poll 최대 대기 시간 (spring.mvc.async.request-timeout 보다 짧게 설정)
+    @Value("${compiler.job.max-wait-ms:30000}")
+    private long maxWaitMillis;
+
+    @PostMapping("/run")
+    @Operation(summary = "코드 실행 작업 제출", description = "코드 실행을 작업으로 제출하고 작업 ID 를 바로 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "작업 제출됨", content = @Content(schema = @Schema(implementation = ExecutionJobDTO.class))),
+            @ApiResponse(responseCode = "429", description = "진행 중인 작업 수 초과 (Retry-After 헤더 참고)", content = @Content)
+    })
+    public ResponseEntity<ExecutionJobDTO> submitRun(@RequestBody CodeRunRequestDTO requestDTO,
+                                                     @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                     HttpServletRequest httpRequest) {
+        return submit(ExecutionType.RUN, requestDTO, userDetails, httpRequest);
+    }
+
+    @PostMapping("/visualize")
+    @Operation(summary = "코드 시각화 작업 제출", description = "코드 시각화를 작업으로 제출하고 작업 ID 를 바로 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "작업 제출됨", content = @Content(schema = @Schema(implementation = ExecutionJobDTO.class))),
+            @ApiResponse(responseCode = "429", description = "진행 중인 작업 수 초과 (Retry-After 헤더 참고)", content = @Content)
+    })
+    public ResponseEntity<ExecutionJobDTO> submitVisualize(@RequestBody CodeRunRequestDTO requestDTO,
+                                                           @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                           HttpServletRequest httpRequest) {
+        return submit(ExecutionType.VISUALIZE, requestDTO, userDetails, httpRequest);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "작업 상태 조회 (long-poll 지원)",
+            description = "작업 상태와 결과를 조회합니다. waitMs 를 지정하면 작업이 끝나거나 시간이 지날 때까지 기다렸다가 응답합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = ExecutionJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "작업이 없거나 만료됨", content = @Content)
+    })
+    public Mono<ResponseEntity<ExecutionJobDTO>> getJob(
+            @Parameter(description = "작업 ID") @PathVariable String jobId,
+            @Parameter(description = "완료까지 기다릴 최대 시간 (ms, 0 이면 즉시 응답)") @RequestParam(defaultValue = "0") long waitMs) {
+        ExecutionJob job = executionJobService.find(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "실행 작업을 찾을 수 없습니다: " + jobId);
+        }
+
+        long wait = Math.max(0, Math.min(waitMs, maxWaitMillis));
+        if (wait == 0 || job.isFinished()) {
+            return Mono.just(ResponseEntity.ok(toDTO(job)));
+        }
+        return job.awaitFinished()
+                .timeout(Duration.ofMillis(wait), Mono.empty())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(toDTO(job))));
+    }
+
+    @DeleteMapping("/{jobId}")
+    @Operation(summary = "작업 취소", description = "진행 중인 작업을 취소합니다. 이미 끝난 작업은 그대로 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "취소 완료 (또는 이미 종료됨)", content = @Content(schema = @Schema(implementation = ExecutionJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "작업이 없거나 만료됨", content = @Content)
+    })
+    public ResponseEntity<ExecutionJobDTO> cancelJob(@Parameter(description = "작업 ID") @PathVariable String jobId) {
+        ExecutionJob job = executionJobService.cancel(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "실행 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return ResponseEntity.ok(toDTO(job));
+    }
+
+    /**
+     * 진행 중인 작업 수가 한도를 넘은 경우 429 와 Retry-After 헤더로 응답합니다.
+     */
+    @ExceptionHandler(ExecutionRejectedException.class)
+    public ResponseEntity<String> handleExecutionRejected(ExecutionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    // Private Helper Methods
+
+    private ResponseEntity<ExecutionJobDTO> submit(ExecutionType type, CodeRunRequestDTO requestDTO,
+                                                   CustomUserDetails userDetails, HttpServletRequest httpRequest) {
+        ExecutionJob job = executionJobService.submit(type,
+                requestDTO.getCode(),
+                requestDTO.getInput(),
+                requestDTO.getLang(),
+                ExecutionRequester.keyOf(userDetails, httpRequest));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/code/jobs/" + job.getJobId()))
+                .body(toDTO(job));
+    }
+
+    private ExecutionJobDTO toDTO(ExecutionJob job) {
+        return ExecutionJobDTO.builder()
+                .jobId(job.getJobId())
+                .type(job.getType().name().toLowerCase())
+                .status(job.getStatus().name())
+                .result(job.getResult())
+                .build();
+    }
+}
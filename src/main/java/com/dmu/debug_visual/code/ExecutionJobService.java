@@ -0,0 +1,94 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * 실행 요청을 작업으로 제출받아 백그라운드에서 실행합니다.
+ * 요청 스레드나 HTTP 연결을 실행이 끝날 때까지 붙잡지 않고 작업 ID 만 바로 돌려줍니다.
+ */
+@Slf4j
+@Service
+public class ExecutionJobService {
+
+    private final CodeExecutionService codeExecutionService;
+    private final ExecutionJobStore jobStore;
+    private final Counter cancelledCounter;
+
+    @Value("${compiler.job.rejected-retries:5}")
+    private int rejectedRetries;
+
+    @Value("${compiler.job.rejected-retry-backoff-ms:1000}")
+    private long rejectedRetryBackoffMs;
+
+    public ExecutionJobService(CodeExecutionService codeExecutionService, ExecutionJobStore jobStore,
+                               MeterRegistry meterRegistry) {
+        this.codeExecutionService = codeExecutionService;
+        this.jobStore = jobStore;
+        this.cancelledCounter = meterRegistry.counter("code.execution.cancelled", "reason", "job");
+    }
+
+    public ExecutionJob submit(ExecutionType type, String code, String input, String lang, String requesterKey) {
+        ExecutionJob job = new ExecutionJob(UUID.randomUUID().toString(), type, System.currentTimeMillis());
+        jobStore.register(job);
+
+        // 재시도 때마다 캐시 확인부터 다시 하도록 defer 로 감쌉니다.
+        Mono<CodeRunResponseDTO> execution = Mono.defer(() -> type == ExecutionType.VISUALIZE
+                ? codeExecutionService.visualizeCode(code, input, lang, requesterKey)
+                : codeExecutionService.runCode(code, input, lang, requesterKey));
+
+        job.attach(execution
+                // 결과 없이 끝난 실행도 작업이 PENDING 으로 남지 않도록 실패로 처리합니다.
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("실행 결과를 받지 못했습니다.")))
+                // 대기열이 가득 차 거절되면 바로 실패 처리하지 않고 잠시 뒤 다시 제출하여 몰린 요청을 흘려보냅니다.
+                .retryWhen(Retry.backoff(rejectedRetries, Duration.ofMillis(rejectedRetryBackoffMs))
+                        .filter(ExecutionRejectedException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .subscribe(
+                        result -> jobStore.finish(job, ExecutionJob.Status.COMPLETED, result),
+                        e -> {
+                            log.warn("실행 작업 실패 ({}): {}", job.getJobId(), e.getMessage());
+                            jobStore.finish(job, ExecutionJob.Status.FAILED, CodeRunResponseDTO.builder()
+                                    .stdout("")
+                                    .stderr(e.getMessage())
+                                    .exitCode(1)
+                                    .success(false)
+                                    .build());
+                        }));
+        return job;
+    }
+
+    /**
+     * 진행 중인 작업을 취소합니다. 대기 중이면 대기열에서 빠지고, 실행 중이면 컴파일러 호출을 끊습니다.
+     * @return 취소된 작업 (없거나 만료되었으면 null)
+     */
+    public ExecutionJob cancel(String jobId) {
+        ExecutionJob job = jobStore.find(jobId);
+        if (job == null || job.isFinished()) {
+            return job;
+        }
+        job.cancel();
+        if (jobStore.finish(job, ExecutionJob.Status.CANCELLED, CodeRunResponseDTO.builder()
+                .stdout("")
+                .stderr("사용자가 실행을 취소했습니다.")
+                .exitCode(1)
+                .success(false)
+                .build())) {
+            cancelledCounter.increment();
+        }
+        return job;
+    }
+
+    public ExecutionJob find(String jobId) {
+        return jobStore.find(jobId);
+    }
+}
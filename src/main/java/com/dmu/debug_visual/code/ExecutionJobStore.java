@@ -0,0 +1,139 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 비동기 실행 작업을 작업 ID 별로 보관합니다.
+ * 완료된 작업은 TTL 이 지나거나 보관 개수를 넘으면 오래된 것부터 제거되며,
+ * 진행 중인 작업 수가 한도를 넘으면 새 작업을 받지 않습니다.
+ * 제한 시간이 지나도록 끝나지 않은 작업은 실행을 끊고 FAILED 로 정리하여 한도를 차지하지 않도록 합니다.
+ */
+@Component
+public class ExecutionJobStore {
+
+    private final int maxJobs;
+    private final int maxPendingJobs;
+    private final long ttlMillis;
+    private final long pendingTimeoutMillis;
+
+    // key: 작업 ID, value: 작업 (제출 순서 유지)
+    private final LinkedHashMap<String, ExecutionJob> jobs = new LinkedHashMap<>();
+    private int pendingCount;
+
+    public ExecutionJobStore(@Value("${compiler.job.max-jobs:1000}") int maxJobs,
+                             @Value("${compiler.job.max-pending:500}") int maxPendingJobs,
+                             @Value("${compiler.job.ttl-ms:600000}") long ttlMillis,
+                             @Value("${compiler.job.pending-timeout-ms:600000}") long pendingTimeoutMillis,
+                             MeterRegistry meterRegistry) {
+        this.maxJobs = maxJobs;
+        this.maxPendingJobs = maxPendingJobs;
+        this.ttlMillis = ttlMillis;
+        this.pendingTimeoutMillis = pendingTimeoutMillis;
+
+        Gauge.builder("code.execution.jobs.pending", this, store -> store.getPendingCount())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 작업을 등록합니다. 진행 중인 작업이 한도에 도달했으면 ExecutionRejectedException 을 던집니다.
+     */
+    public void register(ExecutionJob job) {
+        synchronized (jobs) {
+            if (pendingCount >= maxPendingJobs) {
+                failStalePending(System.currentTimeMillis());
+            }
+            if (pendingCount >= maxPendingJobs) {
+                throw new ExecutionRejectedException("실행 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.", 5);
+            }
+            pendingCount++;
+            jobs.put(job.getJobId(), job);
+            evictFinishedOverflow();
+        }
+    }
+
+    /**
+     * 작업을 완료 처리합니다. 대기 중인 long-poll 요청이 모두 깨어납니다.
+     * @return 이미 끝난 작업이었으면 false
+     */
+    public boolean finish(ExecutionJob job, ExecutionJob.Status status, CodeRunResponseDTO result) {
+        synchronized (jobs) {
+            if (job.isFinished()) {
+                return false;
+            }
+            pendingCount--;
+            job.finish(status, result, System.currentTimeMillis());
+            return true;
+        }
+    }
+
+    /**
+     * 작업을 조회합니다. 없거나 만료되었으면 null 을 반환합니다.
+     */
+    public ExecutionJob find(String jobId) {
+        synchronized (jobs) {
+            ExecutionJob job = jobs.get(jobId);
+            if (job != null && isExpired(job, System.currentTimeMillis())) {
+                jobs.remove(jobId);
+                return null;
+            }
+            return job;
+        }
+    }
+
+    /**
+     * 제한 시간을 넘긴 진행 중 작업을 실패 처리하고, 만료된 작업을 주기적으로 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${compiler.job.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (jobs) {
+            failStalePending(now);
+            jobs.values().removeIf(job -> isExpired(job, now));
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (jobs) {
+            return pendingCount;
+        }
+    }
+
+    // Private Helper Methods
+
+    private boolean isExpired(ExecutionJob job, long now) {
+        return job.isFinished() && now >= job.getFinishedAt() + ttlMillis;
+    }
+
+    private void failStalePending(long now) {
+        for (ExecutionJob job : jobs.values()) {
+            if (!job.isFinished() && now >= job.getCreatedAt() + pendingTimeoutMillis) {
+                job.cancel();
+                pendingCount--;
+                job.finish(ExecutionJob.Status.FAILED, CodeRunResponseDTO.builder()
+                        .stdout("")
+                        .stderr("실행 제한 시간을 초과했습니다.")
+                        .exitCode(1)
+                        .success(false)
+                        .build(), now);
+            }
+        }
+    }
+
+    // 보관 개수를 넘으면 완료된 작업 중 가장 오래된 것부터 제거합니다. (진행 중인 작업은 제거하지 않음)
+    private void evictFinishedOverflow() {
+        Iterator<ExecutionJob> iterator = jobs.values().iterator();
+        while (jobs.size() > maxJobs && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.dmu.debug_visual.code;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/code/outputs")
+@Tag(name = "실행 출력 조회 API", description = "너무 길어 응답에서 잘린 실행 출력 전체를 내려받습니다.")
+public class ExecutionOutputController {
+
+    private final ExecutionOutputStore outputStore;
+
+    @GetMapping(value = "/{outputId}/{stream}", produces = MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8")
+    @Operation(summary = "전체 실행 출력 내려받기", description = "실행 응답의 outputId 로 stdout 또는 stderr 전체를 파일에서 바로 전송합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "출력이 없거나 만료됨")
+    })
+    public ResponseEntity<Resource> getOutput(@Parameter(description = "실행 응답의 outputId") @PathVariable String outputId,
+                                              @Parameter(description = "stdout 또는 stderr") @PathVariable String stream) {
+        Path path = outputStore.find(outputId, stream);
+        if (path == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "실행 출력을 찾을 수 없습니다: " + outputId);
+        }
+        return ResponseEntity.ok(new FileSystemResource(path));
+    }
+}
@@ -0,0 +1,334 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.config.CompilerProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 출력이 매우 큰 컴파일러 응답을 메모리에 통째로 올리지 않고 처리합니다.
+ * 응답 본문을 임시 파일로 받은 뒤 스트리밍 파서로 읽으며, stdout/stderr 는 앞부분만 응답에 담고
+ * 나머지는 출력별 임시 파일에 보관하여 /api/code/outputs/{outputId}/{stdout|stderr} 로 내려받게 합니다.
+ * JSON 파서는 문자열 값 하나를 내부 버퍼에 모두 읽으므로, 응답 본문을 maxResponseBytes 까지만 받아 메모리 사용량을 제한합니다.
+ */
+@Slf4j
+@Component
+public class ExecutionOutputStore {
+
+    private static final String STDOUT = "stdout";
+    private static final String STDERR = "stderr";
+
+    private final CompilerProperties.Output properties;
+    private final JsonFactory jsonFactory;
+    private final Path directory;
+
+    // key: 출력 ID, value: 보관 중인 출력 파일
+    private final Map<String, StoredOutput> outputs = new ConcurrentHashMap<>();
+
+    private final DistributionSummary responseSize;
+    private final Counter spilledCounter;
+
+    public ExecutionOutputStore(CompilerProperties compilerProperties, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) throws IOException {
+        this.properties = compilerProperties.getOutput();
+        // 응답 크기 제한 안의 출력은 Jackson 기본 문자열 길이 제한(20M 자)과 관계없이 읽을 수 있도록 맞춥니다.
+        this.jsonFactory = objectMapper.getFactory().copy();
+        this.jsonFactory.setStreamReadConstraints(StreamReadConstraints.builder()
+                .maxStringLength((int) Math.min(Integer.MAX_VALUE, properties.getMaxResponseBytes()))
+                .build());
+        this.directory = Files.createDirectories(Path.of(System.getProperty("java.io.tmpdir"), "debug-visual-outputs"));
+        deleteLeftovers();
+
+        this.responseSize = DistributionSummary.builder("code.execution.output.bytes")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.spilledCounter = meterRegistry.counter("code.execution.output.spilled");
+    }
+
+    /**
+     * 컴파일러 응답 크기를 기록합니다. (메모리에서 바로 읽는 작은 응답)
+     */
+    public void recordResponseSize(long bytes) {
+        responseSize.record(bytes);
+    }
+
+    /**
+     * 큰 응답 본문을 임시 파일로 받은 뒤 읽습니다. 본문 파일은 읽고 나면 지웁니다.
+     * 본문이 maxResponseBytes 를 넘으면 더 받지 않고 DataBufferLimitException 으로 끝냅니다.
+     */
+    public Mono<CodeRunResponseDTO> readLargeResponse(Flux<DataBuffer> body) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> Files.createTempFile(directory, "response", ".json"))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                raw -> DataBufferUtils.write(limit(body, properties.getMaxResponseBytes()), raw)
+                        .then(Mono.fromCallable(() -> parse(raw)).subscribeOn(Schedulers.boundedElastic())),
+                raw -> Mono.fromRunnable(() -> deleteQuietly(raw)).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * 메모리에서 바로 읽은 작은 응답에도 큰 응답과 같은 출력 길이 제한을 적용합니다.
+     * stdout/stderr 가 maxInlineChars 를 넘으면 앞부분만 남기고 전체는 임시 파일에 보관하여 outputId 로 내려받게 합니다.
+     * (응답 전송 방식(Content-Length 유무)에 따라 출력 제한이 달라지지 않도록)
+     */
+    public Mono<CodeRunResponseDTO> limitInline(CodeRunResponseDTO response) {
+        int maxInlineChars = properties.getMaxInlineChars();
+        if (lengthOf(response.getStdout()) <= maxInlineChars && lengthOf(response.getStderr()) <= maxInlineChars) {
+            return Mono.just(response);
+        }
+        return Mono.fromCallable(() -> spill(response)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 보관 중인 출력 파일을 찾습니다. 없거나 만료되었으면 null 을 반환합니다.
+     * @param stream stdout 또는 stderr
+     */
+    public Path find(String outputId, String stream) {
+        StoredOutput output = outputs.get(outputId);
+        if (output == null || output.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        Path path = STDOUT.equals(stream) ? output.stdout() : STDERR.equals(stream) ? output.stderr() : null;
+        return path != null && Files.exists(path) ? path : null;
+    }
+
+    /**
+     * 만료된 출력 파일을 주기적으로 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${compiler.output.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        outputs.entrySet().removeIf(entry -> {
+            if (!entry.getValue().isExpired(now)) {
+                return false;
+            }
+            deleteQuietly(entry.getValue().stdout());
+            deleteQuietly(entry.getValue().stderr());
+            return true;
+        });
+    }
+
+    // Private Helper Methods
+
+    private static Flux<DataBuffer> limit(Flux<DataBuffer> body, long maxBytes) {
+        return Flux.defer(() -> {
+            AtomicLong received = new AtomicLong();
+            return body.handle((buffer, sink) -> {
+                if (received.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                    DataBufferUtils.release(buffer);
+                    sink.error(new DataBufferLimitException("컴파일러 응답이 " + maxBytes + " 바이트를 넘었습니다."));
+                    return;
+                }
+                sink.next(buffer);
+            });
+        });
+    }
+
+    private CodeRunResponseDTO parse(Path raw) throws IOException {
+        responseSize.record(Files.size(raw));
+
+        String outputId = UUID.randomUUID().toString();
+        CodeRunResponseDTO.CodeRunResponseDTOBuilder builder = CodeRunResponseDTO.builder();
+        Path stdoutFile = null;
+        Path stderrFile = null;
+
+        try (JsonParser parser = jsonFactory.createParser(raw.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("컴파일러 응답이 JSON 객체가 아닙니다.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case STDOUT -> {
+                        OutputCapture capture = capture(parser, value, outputId, STDOUT);
+                        builder.stdout(capture.text());
+                        stdoutFile = capture.spillFile();
+                    }
+                    case STDERR -> {
+                        OutputCapture capture = capture(parser, value, outputId, STDERR);
+                        builder.stderr(capture.text());
+                        stderrFile = capture.spillFile();
+                    }
+                    case "exitCode" -> builder.exitCode(parser.getIntValue());
+                    case "success" -> builder.success(parser.getBooleanValue());
+                    case "ast" -> builder.ast(value == JsonToken.VALUE_NULL ? null : parser.getText());
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (store(outputId, stdoutFile, stderrFile)) {
+            builder.outputId(outputId);
+        }
+        return builder.build();
+    }
+
+    private CodeRunResponseDTO spill(CodeRunResponseDTO response) throws IOException {
+        String outputId = UUID.randomUUID().toString();
+        OutputCapture stdout = capture(response.getStdout(), outputId, STDOUT);
+        OutputCapture stderr = capture(response.getStderr(), outputId, STDERR);
+        if (response.getStdout() != null) {
+            response.setStdout(stdout.text());
+        }
+        if (response.getStderr() != null) {
+            response.setStderr(stderr.text());
+        }
+        if (store(outputId, stdout.spillFile(), stderr.spillFile())) {
+            response.setOutputId(outputId);
+        }
+        return response;
+    }
+
+    // 임시 파일로 넘친 출력이 있으면 보관 목록에 올리고 true 를 반환합니다.
+    private boolean store(String outputId, Path stdoutFile, Path stderrFile) {
+        if (stdoutFile == null && stderrFile == null) {
+            return false;
+        }
+        outputs.put(outputId, new StoredOutput(stdoutFile, stderrFile, System.currentTimeMillis() + properties.getTtlMs()));
+        spilledCounter.increment();
+        return true;
+    }
+
+    private OutputCapture capture(JsonParser parser, JsonToken value, String outputId, String stream) throws IOException {
+        OutputCapture capture = newCapture(outputId, stream);
+        if (value != JsonToken.VALUE_NULL) {
+            // 문자열 값을 String 으로 복사하지 않고 파서 버퍼에서 바로 넘겨받습니다.
+            parser.getText(capture);
+        }
+        capture.close();
+        return capture;
+    }
+
+    private OutputCapture capture(String text, String outputId, String stream) throws IOException {
+        OutputCapture capture = newCapture(outputId, stream);
+        if (text != null) {
+            capture.write(text);
+        }
+        capture.close();
+        return capture;
+    }
+
+    private OutputCapture newCapture(String outputId, String stream) {
+        return new OutputCapture(directory.resolve(outputId + "." + stream + ".txt"),
+                properties.getMaxInlineChars(), properties.getMaxSpillChars());
+    }
+
+    private static long lengthOf(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private void deleteLeftovers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(ExecutionOutputStore::deleteQuietly);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("임시 출력 파일 삭제 실패: {}", path);
+        }
+    }
+
+    private record StoredOutput(Path stdout, Path stderr, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    /**
+     * 앞부분(maxInlineChars)은 메모리에 두고, 그보다 길면 전체를 파일에 씁니다. (파일도 maxSpillChars 까지만)
+     */
+    private static class OutputCapture extends Writer {
+        private final Path file;
+        private final int maxInlineChars;
+        private final long maxSpillChars;
+        private final StringBuilder inline = new StringBuilder();
+        private BufferedWriter spill;
+        private long total;
+
+        private OutputCapture(Path file, int maxInlineChars, long maxSpillChars) {
+            this.file = file;
+            this.maxInlineChars = maxInlineChars;
+            this.maxSpillChars = maxSpillChars;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int inlineLength = (int) Math.max(0, Math.min(length, maxInlineChars - total));
+            inline.append(buffer, offset, inlineLength);
+            if (total + length > maxInlineChars && spill == null) {
+                spill = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                spill.append(inline);
+                offset += inlineLength;
+                length -= inlineLength;
+                total += inlineLength;
+            }
+            if (spill != null) {
+                int spillLength = (int) Math.max(0, Math.min(length, maxSpillChars - total));
+                spill.write(buffer, offset, spillLength);
+            }
+            total += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (spill != null) {
+                spill.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (spill != null) {
+                if (total > maxSpillChars) {
+                    spill.write("\n... [출력이 " + maxSpillChars + "자를 넘어 이후는 저장하지 않았습니다]\n");
+                }
+                spill.close();
+            }
+        }
+
+        private String text() {
+            if (spill == null) {
+                return inline.toString();
+            }
+            return inline + "\n... [출력이 " + maxInlineChars + "자를 넘어 잘렸습니다. 전체 출력은 outputId 로 내려받을 수 있습니다]";
+        }
+
+        private Path spillFile() {
+            return spill != null ? file : null;
+        }
+    }
+}
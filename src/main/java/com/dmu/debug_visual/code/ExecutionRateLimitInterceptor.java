@@ -0,0 +1,54 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.security.CustomUserDetails;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 코드 실행 요청(POST /api/code/**)이 CodeExecutionService 에 도달하기 전에 속도 제한을 적용합니다.
+ * 한도를 넘으면 429 와 Retry-After 헤더로 바로 응답합니다. (결과 조회 등 GET 요청은 제한하지 않음)
+ * 비동기 응답(Mono, SSE, NDJSON)이 끝난 뒤의 ASYNC 재디스패치에서는 다시 검사하지 않습니다.
+ * 다시 검사하면 요청 하나가 두 번 차감되고, 이미 계산된 결과나 전송 중인 스트림에 429 를 덮어쓰게 됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExecutionRateLimitInterceptor implements HandlerInterceptor {
+
+    private final ExecutionRateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CustomUserDetails userDetails = authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details
+                ? details : null;
+        String role = userDetails != null ? userDetails.getUser().getRole().name() : ExecutionRateLimiter.ANONYMOUS;
+
+        long retryAfterMillis = rateLimiter.tryAcquire(ExecutionRequester.keyOf(userDetails, request), role);
+        if (retryAfterMillis == 0) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("실행 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        return false;
+    }
+}
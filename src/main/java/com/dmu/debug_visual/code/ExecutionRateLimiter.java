@@ -0,0 +1,86 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.config.CompilerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자(로그인) / IP(비로그인) 별 실행 요청 속도 제한 (token bucket)
+ * 버킷마다 "다음 요청이 허용되는 이론상 시각" 하나만 AtomicLong 으로 관리하는 GCRA 방식이라,
+ * 요청 처리 시 잠금 없이 CAS 한 번으로 판단합니다. (token bucket 과 동일한 허용 결과)
+ * 한도는 User.Role 별로 설정합니다. (compiler.rate-limit.roles.{ROLE}.*)
+ */
+@Component
+public class ExecutionRateLimiter {
+
+    public static final String ANONYMOUS = "ANONYMOUS";
+
+    private final CompilerProperties.RateLimit properties;
+    private final MeterRegistry meterRegistry;
+
+    // key: 요청자 키 (user:ID / ip:주소), value: 다음 요청이 허용되는 이론상 시각 (ns)
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public ExecutionRateLimiter(CompilerProperties compilerProperties, MeterRegistry meterRegistry) {
+        this.properties = compilerProperties.getRateLimit();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 요청을 허용할 수 있으면 0, 아니면 다시 시도할 수 있을 때까지 남은 시간(ms)을 반환합니다.
+     * @param requesterKey 요청자 키 (ExecutionRequester.keyOf)
+     * @param role         User.Role 이름 (비로그인이면 ANONYMOUS)
+     */
+    public long tryAcquire(String requesterKey, String role) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        CompilerProperties.Limit limit = limitOf(role);
+        if (limit == null || limit.getRequestsPerMinute() <= 0) {
+            return 0;
+        }
+
+        long interval = (long) (TimeUnit.MINUTES.toNanos(1) / limit.getRequestsPerMinute());
+        long burstTolerance = interval * Math.max(0, limit.getBurst() - 1);
+        AtomicLong bucket = buckets.computeIfAbsent(requesterKey, key -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = System.nanoTime();
+            long theoreticalArrival = bucket.get();
+            long start = theoreticalArrival == Long.MIN_VALUE ? now : Math.max(theoreticalArrival, now);
+            long waitNanos = start - now - burstTolerance;
+            if (waitNanos > 0) {
+                meterRegistry.counter("code.execution.throttled", "role", role).increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            }
+            if (bucket.compareAndSet(theoreticalArrival, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 오래 요청이 없던 버킷을 정리합니다. (버킷이 가득 찬 상태라 지워도 허용 결과는 같습니다.)
+     */
+    @Scheduled(fixedDelayString = "${compiler.rate-limit.idle-evict-ms:600000}")
+    public void evictIdle() {
+        long threshold = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictMs());
+        buckets.values().removeIf(bucket -> bucket.get() != Long.MIN_VALUE && bucket.get() < threshold);
+    }
+
+    // Private Helper Methods
+
+    private CompilerProperties.Limit limitOf(String role) {
+        if (ANONYMOUS.equals(role)) {
+            return properties.getAnonymous();
+        }
+        CompilerProperties.Limit limit = properties.getRoles().get(role);
+        return limit != null ? limit : properties.getAnonymous();
+    }
+}
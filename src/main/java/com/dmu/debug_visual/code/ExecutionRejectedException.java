@@ -0,0 +1,18 @@
+package com.dmu.debug_visual.code;
+
+import lombok.Getter;
+
+/**
+ * 실행 대기열이 가득 차서 요청을 받아들일 수 없을 때 발생하는 예외
+ * 컨트롤러에서 429 (Too Many Requests) 와 Retry-After 헤더로 변환됩니다.
+ */
+@Getter
+public class ExecutionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExecutionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
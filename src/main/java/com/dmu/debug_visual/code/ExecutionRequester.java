@@ -0,0 +1,34 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.security.CustomUserDetails;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 실행 요청자를 식별하는 키를 만드는 헬퍼
+ */
+public final class ExecutionRequester {
+
+    // 클라이언트가 에디터(탭)마다 붙이는 실행 세션 헤더. 같은 세션의 새 실행은 이전 실행을 취소합니다.
+    public static final String SESSION_HEADER = "X-Execution-Session";
+
+    private ExecutionRequester() {
+    }
+
+    /**
+     * 로그인 사용자는 사용자 ID, 비로그인 사용자는 IP 주소를 실행 요청자 키로 사용합니다.
+     */
+    public static String keyOf(CustomUserDetails userDetails, HttpServletRequest httpRequest) {
+        return userDetails != null ? "user:" + userDetails.getUsername() : "ip:" + httpRequest.getRemoteAddr();
+    }
+
+    /**
+     * 실행 세션 헤더가 있으면 요청자 키와 묶은 세션 키를, 없으면 null 을 반환합니다.
+     */
+    public static String sessionKeyOf(CustomUserDetails userDetails, HttpServletRequest httpRequest) {
+        String session = httpRequest.getHeader(SESSION_HEADER);
+        if (session == null || session.isBlank()) {
+            return null;
+        }
+        return keyOf(userDetails, httpRequest) + "#" + session;
+    }
+}
@@ -0,0 +1,95 @@
+package com.dmu.debug_visual.code;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 사용자·세션에서 새 실행 요청이 들어오면 이전 실행을 취소합니다.
+ * 취소는 업스트림까지 전달되어 입장 제어 슬롯을 반납하고 컴파일러 호출(WebClient 연결)도 끊습니다.
+ * 클라이언트가 연결을 끊어 응답 구독이 취소된 경우도 함께 집계합니다.
+ */
+@Component
+public class ExecutionSupersedeRegistry {
+
+    // key: 사용자·세션 키, value: 해당 세션에서 가장 최근에 시작된 실행
+    private final Map<String, Ticket> latest = new ConcurrentHashMap<>();
+
+    private final Counter clientCancelledCounter;
+    private final Counter supersededCounter;
+
+    public ExecutionSupersedeRegistry(MeterRegistry meterRegistry) {
+        this.clientCancelledCounter = meterRegistry.counter("code.execution.cancelled", "reason", "client");
+        this.supersededCounter = meterRegistry.counter("code.execution.cancelled", "reason", "superseded");
+    }
+
+    /**
+     * @param sessionKey   사용자·세션 키 (null 이면 이전 실행을 취소하지 않고 연결 끊김만 집계)
+     * @param execution    실행
+     * @param onSuperseded 새 요청에 밀려 취소되었을 때 대신 응답할 값
+     */
+    public <T> Mono<T> guard(String sessionKey, Mono<T> execution, Supplier<T> onSuperseded) {
+        if (sessionKey == null) {
+            return execution.doOnCancel(clientCancelledCounter::increment);
+        }
+        return Mono.defer(() -> {
+            Ticket ticket = register(sessionKey);
+            return execution
+                    .takeUntilOther(ticket.signal.asMono())
+                    .switchIfEmpty(Mono.fromSupplier(() -> supersededValue(ticket, onSuperseded)))
+                    .doOnCancel(clientCancelledCounter::increment)
+                    .doFinally(signal -> latest.remove(sessionKey, ticket));
+        });
+    }
+
+    public <T> Flux<T> guardMany(String sessionKey, Flux<T> execution, Supplier<T> onSuperseded) {
+        if (sessionKey == null) {
+            return execution.doOnCancel(clientCancelledCounter::increment);
+        }
+        return Flux.defer(() -> {
+            Ticket ticket = register(sessionKey);
+            return execution
+                    .takeUntilOther(ticket.signal.asMono())
+                    .concatWith(Mono.fromSupplier(() -> supersededValue(ticket, onSuperseded)))
+                    .doOnCancel(clientCancelledCounter::increment)
+                    .doFinally(signal -> latest.remove(sessionKey, ticket));
+        });
+    }
+
+    // Private Helper Methods
+
+    private Ticket register(String sessionKey) {
+        Ticket ticket = new Ticket();
+        Ticket previous = latest.put(sessionKey, ticket);
+        if (previous != null) {
+            previous.supersede();
+        }
+        return ticket;
+    }
+
+    // 새 요청에 밀려 끝난 경우에만 대체 값을 돌려줍니다. (null 이면 그대로 완료)
+    private <T> T supersededValue(Ticket ticket, Supplier<T> onSuperseded) {
+        if (!ticket.superseded) {
+            return null;
+        }
+        supersededCounter.increment();
+        return onSuperseded.get();
+    }
+
+    private static class Ticket {
+        private final Sinks.Empty<Void> signal = Sinks.empty();
+        private volatile boolean superseded;
+
+        private void supersede() {
+            superseded = true;
+            signal.tryEmitEmpty();
+        }
+    }
+}
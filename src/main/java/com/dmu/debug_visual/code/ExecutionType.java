@@ -0,0 +1,23 @@
+package com.dmu.debug_visual.code;
+
+/**
+ * 컴파일러 서버에 요청하는 실행 종류
+ */
+public enum ExecutionType {
+    RUN("/run"),                // 코드 실행
+    VISUALIZE("/visualize"),    // 코드 실행 + 시각화(AST) 정보
+    STREAM("/run/stream");      // 코드 실행 (출력을 SSE 로 나누어 받음)
+
+    private final String path;
+
+    ExecutionType(String path) {
+        this.path = path;
+    }
+
+    /**
+     * 설정된 컴파일러 URL(…/run)을 기준으로 실행 종류에 맞는 엔드포인트 주소를 만듭니다.
+     */
+    public String resolveUri(String compilerRunUrl) {
+        return compilerRunUrl.replace(RUN.path, path);
+    }
+}
@@ -0,0 +1,110 @@
+package com.dmu.debug_visual.code;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 느린 컴파일러 서버 때문에 응답이 늦어지는 경우를 줄이기 위한 hedged request 정책 (경로별)
+ * 최근 응답 시간의 백분위수만큼 기다려도 응답이 없으면 다른 서버로 같은 요청을 한 번 더 보냅니다.
+ * 추가 요청은 전체 요청의 일정 비율(예산) 안에서만 허용하여, 장애 시 부하가 두 배로 늘지 않도록 합니다.
+ * 응답 시간에는 사용자 프로그램의 실행 시간도 포함되므로 짧은 실행에만 적용합니다.
+ * 기다릴 시간이 maxRunMillis 를 넘으면 추가 요청을 보내지 않고, 보낸 추가 요청도 maxRunMillis 안에 끝나지 않으면 끊어
+ * 오래 도는 프로그램(sleep 반복, 큰 시각화 등)이 중복 실행되지 않도록 합니다.
+ */
+public class HedgingPolicy {
+
+    // 예산으로 모아 둘 수 있는 최대 추가 요청 수 (짧은 순간 몰리는 추가 요청 상한)
+    private static final double MAX_TOKENS = 10;
+
+    private final double percentile;
+    private final double tokensPerRequest;
+    private final int minSamples;
+    private final long minDelayMillis;
+    private final long maxRunMillis;
+
+    // 최근 응답 시간(ms) 원형 버퍼
+    private final long[] samples;
+    private int sampleCount;
+    private int nextSample;
+    private double tokens;
+
+    private final Counter hedgedCounter;
+    private final Counter hedgeWonCounter;
+
+    /**
+     * @param percentile    추가 요청을 보내기까지 기다릴 응답 시간 백분위수 (예: 95)
+     * @param budgetPercent 전체 요청 대비 허용할 추가 요청 비율 (예: 5)
+     * @param sampleSize    백분위수 계산에 사용할 최근 응답 수
+     * @param minSamples    이 수만큼 응답이 모이기 전에는 추가 요청을 보내지 않음
+     * @param minDelayMillis 추가 요청 전 최소 대기 시간
+     * @param maxRunMillis  추가 요청을 적용할 실행 시간 상한 (대기 시간과 추가 요청의 실행 시간 모두)
+     */
+    public HedgingPolicy(String poolName, double percentile, double budgetPercent, int sampleSize,
+                         int minSamples, long minDelayMillis, long maxRunMillis, MeterRegistry meterRegistry) {
+        this.percentile = percentile;
+        this.tokensPerRequest = budgetPercent / 100.0;
+        this.samples = new long[sampleSize];
+        this.minSamples = minSamples;
+        this.minDelayMillis = minDelayMillis;
+        this.maxRunMillis = maxRunMillis;
+
+        this.hedgedCounter = meterRegistry.counter("code.execution.hedge", "pool", poolName, "result", "sent");
+        this.hedgeWonCounter = meterRegistry.counter("code.execution.hedge", "pool", poolName, "result", "won");
+    }
+
+    /**
+     * 요청 하나가 시작될 때 호출합니다. 추가 요청까지 기다릴 시간을 반환하며,
+     * 아직 판단할 표본이 부족하거나 기다릴 시간이 짧은 실행의 기준을 넘으면 null 입니다.
+     */
+    public synchronized Duration onRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + tokensPerRequest);
+        if (sampleCount == 0 || sampleCount < minSamples) {
+            return null;
+        }
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        long delayMillis = Math.max(minDelayMillis, sorted[Math.max(0, index)]);
+        return delayMillis <= maxRunMillis ? Duration.ofMillis(delayMillis) : null;
+    }
+
+    /**
+     * 추가 요청을 보낼 예산이 남아 있으면 차감하고 true 를 반환합니다.
+     * 보낼 서버가 없어 실제로 보내지 못했으면 refundHedge 로 돌려놓습니다.
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized void refundHedge() {
+        tokens = Math.min(MAX_TOKENS, tokens + 1);
+    }
+
+    /**
+     * 추가 요청이 이 시간 안에 응답하지 않으면 끊습니다.
+     */
+    public Duration getMaxRun() {
+        return Duration.ofMillis(maxRunMillis);
+    }
+
+    public void recordHedgeSent() {
+        hedgedCounter.increment();
+    }
+
+    public synchronized void recordLatency(long latencyMillis) {
+        samples[nextSample] = latencyMillis;
+        nextSample = (nextSample + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+    }
+
+    public void recordHedgeWon() {
+        hedgeWonCounter.increment();
+    }
+}
@@ -0,0 +1,157 @@
+package com.dmu.debug_visual.code;
+
+import lombok.Getter;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * javax.tools.JavaCompiler 로 Java 소스를 디스크를 거치지 않고 메모리에서 컴파일합니다.
+ * JDK 가 아닌 JRE 에서 실행 중이면 컴파일러를 사용할 수 없습니다. (isAvailable)
+ */
+public class InMemoryJavaCompiler {
+
+    private static final Pattern PACKAGE = Pattern.compile("^\\s*package\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+    private static final Pattern PUBLIC_CLASS = Pattern.compile("public\\s+(?:final\\s+|abstract\\s+)*class\\s+(\\w+)");
+    private static final String DEFAULT_CLASS_NAME = "Main";
+    private static final List<String> OPTIONS = List.of("-proc:none", "-Xlint:none", "-encoding", "UTF-8");
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    public boolean isAvailable() {
+        return compiler != null;
+    }
+
+    /**
+     * 소스를 컴파일합니다. 실행할 클래스는 public class 이름(없으면 Main)으로 정합니다.
+     */
+    public Result compile(String source) {
+        String mainClass = mainClassOf(source);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Map<String, byte[]> classes = new ConcurrentHashMap<>();
+
+        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, Locale.getDefault(), StandardCharsets.UTF_8);
+        try (MemoryFileManager fileManager = new MemoryFileManager(standardFileManager, classes)) {
+            boolean success = compiler.getTask(null, fileManager, diagnostics, OPTIONS, null,
+                    List.of(new SourceFile(mainClass, source))).call();
+            return new Result(success, mainClass, Map.copyOf(classes), formatDiagnostics(diagnostics));
+        } catch (IOException e) {
+            throw new IllegalStateException("컴파일러 파일 관리자를 닫지 못했습니다.", e);
+        }
+    }
+
+    // Private Helper Methods
+
+    private static String mainClassOf(String source) {
+        Matcher classMatcher = PUBLIC_CLASS.matcher(source);
+        String className = classMatcher.find() ? classMatcher.group(1) : DEFAULT_CLASS_NAME;
+        Matcher packageMatcher = PACKAGE.matcher(source);
+        return packageMatcher.find() ? packageMatcher.group(1) + "." + className : className;
+    }
+
+    private static String formatDiagnostics(DiagnosticCollector<JavaFileObject> diagnostics) {
+        StringBuilder builder = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            String fileName = diagnostic.getSource() != null ? diagnostic.getSource().getName().replaceFirst("^/", "") : "";
+            builder.append(fileName).append(':').append(diagnostic.getLineNumber()).append(": ")
+                    .append(diagnostic.getKind() == Diagnostic.Kind.ERROR ? "error" : "warning").append(": ")
+                    .append(diagnostic.getMessage(Locale.getDefault()))
+                    .append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 컴파일 결과. classes 의 key 는 클래스 이름(binary name), value 는 클래스 파일 바이트입니다.
+     */
+    @Getter
+    public static class Result {
+        private final boolean success;
+        private final String mainClass;
+        private final Map<String, byte[]> classes;
+        private final String diagnostics;
+
+        private Result(boolean success, String mainClass, Map<String, byte[]> classes, String diagnostics) {
+            this.success = success;
+            this.mainClass = mainClass;
+            this.classes = classes;
+            this.diagnostics = diagnostics;
+        }
+
+        /**
+         * 이미 컴파일된 결과물(컴파일 결과물 캐시 등)로 성공 결과를 만듭니다.
+         */
+        public static Result precompiled(String mainClass, Map<String, byte[]> classes) {
+            return new Result(true, mainClass, classes, "");
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        private SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    private static class ClassFile extends SimpleJavaFileObject {
+        private final String className;
+        private final Map<String, byte[]> classes;
+
+        private ClassFile(String className, Map<String, byte[]> classes) {
+            super(URI.create("mem:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.className = className;
+            this.classes = classes;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    classes.put(className, toByteArray());
+                }
+            };
+        }
+    }
+
+    private static class MemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+        private final Map<String, byte[]> classes;
+
+        private MemoryFileManager(JavaFileManager fileManager, Map<String, byte[]> classes) {
+            super(fileManager);
+            this.classes = classes;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className,
+                                                   JavaFileObject.Kind kind, FileObject sibling) {
+            return new ClassFile(className, classes);
+        }
+    }
+}
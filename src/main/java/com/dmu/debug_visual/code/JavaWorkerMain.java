@@ -0,0 +1,203 @@
+package com.dmu.debug_visual.code;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 실행용 JVM 프로세스의 진입점 (LocalJavaExecutionBackend 전용)
+ * 애플리케이션 클래스패스 없이 단독으로 실행되므로 JDK 클래스만 사용해야 합니다.
+ * 미리 떠서 자주 쓰는 클래스를 로드해 둔 채 기다리다가, 프로그램 하나를 실행하고 종료합니다.
+ * 표준 입출력은 부모 프로세스와의 통신에 쓰이고, 사용자 프로그램의 입출력은 메모리 버퍼로 돌립니다.
+ *
+ * 요청: mainClass(UTF), 클래스 수(int), [클래스 이름(UTF), 길이(int), 바이트]..., 입력 길이(int), 입력 바이트
+ * 응답: 종료 코드(int), stdout 길이(int), 바이트, stderr 길이(int), 바이트, 출력 잘림 여부(boolean)
+ */
+public final class JavaWorkerMain {
+
+    // 사용자 코드가 System.exit 을 호출한 경우: 실제 종료 코드는 부모가 프로세스에서 읽습니다.
+    public static final int EXIT_CODE_FROM_PROCESS = Integer.MIN_VALUE;
+
+    private static final Object REPORT_LOCK = new Object();
+    private static boolean reported;
+
+    private JavaWorkerMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int maxOutputBytes = Integer.parseInt(args[0]);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+
+        warmUp();
+
+        String mainClass = in.readUTF();
+        Map<String, byte[]> classes = new HashMap<>();
+        int classCount = in.readInt();
+        for (int i = 0; i < classCount; i++) {
+            String name = in.readUTF();
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            classes.put(name, bytes);
+        }
+        byte[] input = new byte[in.readInt()];
+        in.readFully(input);
+
+        LimitedOutputStream stdout = new LimitedOutputStream(maxOutputBytes);
+        LimitedOutputStream stderr = new LimitedOutputStream(maxOutputBytes);
+        System.setIn(new ByteArrayInputStream(input));
+        System.setOut(new PrintStream(stdout, true, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(stderr, true, StandardCharsets.UTF_8));
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.flush();
+            System.err.flush();
+            report(out, EXIT_CODE_FROM_PROCESS, stdout, stderr);
+        }));
+
+        int exitCode = runMain(new MemoryClassLoader(classes), mainClass);
+        System.out.flush();
+        System.err.flush();
+        report(out, exitCode, stdout, stderr);
+
+        // 사용자 코드가 남긴 스레드나 종료 훅을 기다리지 않고 바로 종료합니다.
+        Runtime.getRuntime().halt(0);
+    }
+
+    // Private Helper Methods
+
+    private static int runMain(ClassLoader loader, String mainClass) {
+        try {
+            Method main = loader.loadClass(mainClass).getMethod("main", String[].class);
+            if (!Modifier.isStatic(main.getModifiers())) {
+                System.err.println("오류: " + mainClass + " 클래스의 main 메서드가 static 이 아닙니다.");
+                return 1;
+            }
+            main.setAccessible(true);
+            main.invoke(null, (Object) new String[0]);
+            return 0;
+        } catch (InvocationTargetException e) {
+            System.err.print("Exception in thread \"main\" ");
+            e.getCause().printStackTrace();
+            return 1;
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            System.err.println("오류: " + mainClass + " 클래스에서 main(String[]) 메서드를 찾을 수 없습니다.");
+            return 1;
+        } catch (ReflectiveOperationException e) {
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    private static void report(DataOutputStream out, int exitCode, LimitedOutputStream stdout, LimitedOutputStream stderr) {
+        synchronized (REPORT_LOCK) {
+            if (reported) {
+                return;
+            }
+            reported = true;
+            try {
+                out.writeInt(exitCode);
+                byte[] stdoutBytes = stdout.toByteArray();
+                out.writeInt(stdoutBytes.length);
+                out.write(stdoutBytes);
+                byte[] stderrBytes = stderr.toByteArray();
+                out.writeInt(stderrBytes.length);
+                out.write(stderrBytes);
+                out.writeBoolean(stdout.isTruncated() || stderr.isTruncated());
+                out.flush();
+            } catch (IOException ignored) {
+                // 부모가 이미 연결을 끊은 경우 (시간 초과 등)
+            }
+        }
+    }
+
+    // 입문용 코드에서 자주 쓰는 클래스를 미리 로드하고 초기화해 둡니다.
+    private static void warmUp() {
+        java.util.Scanner scanner = new java.util.Scanner("1 a\n2.5");
+        scanner.nextInt();
+        scanner.next();
+        scanner.nextLine();
+        scanner.nextDouble();
+        try {
+            new java.io.BufferedReader(new java.io.InputStreamReader(new ByteArrayInputStream(new byte[0]))).readLine();
+        } catch (IOException ignored) {
+        }
+        String.format("%d %s %.2f", 1, "a", 1.0);
+        new StringBuilder().append(1).append('a').toString();
+        new java.util.ArrayList<>(java.util.List.of(3, 1, 2)).sort(null);
+        new java.util.HashMap<>(java.util.Map.of("a", 1)).get("a");
+        java.util.Arrays.sort(new int[]{3, 1, 2});
+        Math.max(Math.abs(-1), Math.sqrt(4));
+    }
+
+    /**
+     * 컴파일된 클래스를 메모리에서 정의하는 클래스 로더
+     */
+    private static final class MemoryClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        private MemoryClassLoader(Map<String, byte[]> classes) {
+            super(JavaWorkerMain.class.getClassLoader());
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.remove(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * 최대 길이를 넘는 출력은 버리고 잘림 여부만 기록합니다.
+     */
+    private static final class LimitedOutputStream extends ByteArrayOutputStream {
+        private final int limit;
+        private boolean truncated;
+
+        private LimitedOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (count >= limit) {
+                truncated = true;
+                return;
+            }
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            int writable = Math.min(len, limit - count);
+            if (writable < len) {
+                truncated = true;
+            }
+            if (writable > 0) {
+                super.write(b, off, writable);
+            }
+        }
+
+        private synchronized boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
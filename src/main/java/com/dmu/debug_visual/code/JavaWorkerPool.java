@@ -0,0 +1,227 @@
+package com.dmu.debug_visual.code;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+
+/**
+ * 프로그램 실행용 JVM 프로세스(JavaWorkerMain)를 미리 띄워 두는 풀
+ * 각 프로세스는 프로그램 하나만 실행하고 종료하므로, 사용자 간에 상태가 섞이지 않습니다.
+ * 미리 띄워 둔 프로세스를 하나 꺼내 갈 때마다 백그라운드에서 하나를 새로 띄워 JVM 기동 시간을 요청 경로에서 뺍니다.
+ *
+ * 실행용 프로세스는 이 서버의 환경 변수(DB, AWS, JWT 설정 등)를 물려받지 않고, 프로세스마다 만든 빈 작업 디렉토리에서 실행됩니다.
+ * prlimit 이 있으면 CPU 사용 시간, 파일 쓰기 크기, 열린 파일 수를 커널 자원 한도(rlimit)로 제한합니다.
+ * 파일 시스템·네트워크·프로세스 수 격리는 sandboxCommand (nsjail, bwrap 등) 로 감싸서 적용합니다.
+ */
+@Slf4j
+public class JavaWorkerPool implements AutoCloseable {
+
+    // 실행용 JVM 에 복사할 클래스 (JavaWorkerMain 과 중첩 클래스)
+    private static final List<String> WORKER_CLASSES = List.of(
+            "JavaWorkerMain", "JavaWorkerMain$MemoryClassLoader", "JavaWorkerMain$LimitedOutputStream");
+
+    private static final Path PRLIMIT = Path.of("/usr/bin/prlimit");
+    private static final int MAX_OPEN_FILES = 256;
+
+    private final Path classpath;
+    private final Path workRoot;
+    private final List<String> command;
+    private final int size;
+    private final BlockingQueue<Worker> warmWorkers;
+    private volatile boolean closed;
+
+    /**
+     * @param javaCommand    실행용 java 경로
+     * @param maxHeapMb      실행용 JVM 최대 힙
+     * @param maxOutputBytes stdout/stderr 각각의 최대 길이
+     * @param size           미리 띄워 둘 프로세스 수
+     * @param sandboxCommand 실행용 JVM 앞에 붙일 격리 명령 (없으면 빈 목록)
+     * @param cpuSeconds     프로세스 하나가 사용할 수 있는 최대 CPU 시간 (모든 스레드 합계)
+     * @param maxFileBytes   프로세스가 쓸 수 있는 파일 하나의 최대 크기
+     */
+    public JavaWorkerPool(String javaCommand, int maxHeapMb, int maxOutputBytes, int size,
+                          List<String> sandboxCommand, long cpuSeconds, long maxFileBytes) {
+        this.classpath = extractWorkerClasses();
+        this.workRoot = createTempDirectory("java-run");
+        this.size = size;
+        this.warmWorkers = new LinkedBlockingQueue<>(Math.max(1, size));
+
+        // prlimit 으로 건 한도는 격리 명령과 그 안의 실행용 JVM 에 그대로 상속됩니다.
+        List<String> command = new ArrayList<>();
+        if (Files.isExecutable(PRLIMIT)) {
+            command.addAll(List.of(PRLIMIT.toString(),
+                    "--cpu=" + cpuSeconds,
+                    "--fsize=" + maxFileBytes,
+                    "--nofile=" + MAX_OPEN_FILES,
+                    "--core=0",
+                    "--"));
+        } else {
+            log.warn("prlimit 을 찾을 수 없어 실행용 JVM 에 CPU 시간/파일 크기 한도를 적용하지 못합니다. ({})", PRLIMIT);
+        }
+        command.addAll(sandboxCommand);
+        command.addAll(List.of(javaCommand,
+                "-Xmx" + maxHeapMb + "m",
+                "-Xss8m",
+                "-XX:+UseSerialGC",
+                "-XX:TieredStopAtLevel=1",      // 짧게 도는 프로그램이므로 C1 컴파일러만 사용
+                "-XX:ActiveProcessorCount=1",   // JVM 내부 스레드 수만 줄임 (CPU 사용량 제한은 위 rlimit/격리 명령이 담당)
+                "-XX:-UsePerfData",
+                "-XX:+DisableAttachMechanism",
+                "-Xshare:auto",
+                "-Dfile.encoding=UTF-8",
+                "-cp", classpath.toString(),
+                JavaWorkerMain.class.getName(),
+                String.valueOf(maxOutputBytes)));
+        this.command = List.copyOf(command);
+    }
+
+    public void start() {
+        for (int i = 0; i < size; i++) {
+            replenish();
+        }
+    }
+
+    /**
+     * 미리 띄워 둔 프로세스를 꺼냅니다. 남은 프로세스가 없으면 바로 새로 띄웁니다.
+     * 미리 띄워 둔 프로세스를 꺼낸 경우에만 빈 자리를 채우므로, 요청이 몰려도 대기 프로세스는 size 개를 넘지 않습니다.
+     */
+    public Worker acquire() throws IOException {
+        Worker worker;
+        while ((worker = warmWorkers.poll()) != null) {
+            replenish();
+            if (worker.isAlive()) {
+                return worker;
+            }
+            // 대기 중에 죽은 프로세스는 버립니다.
+            worker.close();
+        }
+        return spawn();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Worker worker;
+        while ((worker = warmWorkers.poll()) != null) {
+            worker.close();
+        }
+        deleteRecursively(classpath);
+        deleteRecursively(workRoot);
+    }
+
+    // Private Helper Methods
+
+    private void replenish() {
+        if (closed) {
+            return;
+        }
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                Worker worker = spawn();
+                if (closed || !warmWorkers.offer(worker)) {
+                    worker.close();
+                }
+            } catch (IOException e) {
+                log.error("실행용 JVM 프로세스를 띄우지 못했습니다: {}", e.getMessage());
+            }
+        });
+    }
+
+    private Worker spawn() throws IOException {
+        Path workDir = Files.createTempDirectory(workRoot, "worker");
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+
+        // 이 서버의 환경 변수(비밀 값 포함)를 넘기지 않고, 실행에 필요한 값만 지정합니다.
+        Map<String, String> environment = builder.environment();
+        environment.clear();
+        environment.put("PATH", "/usr/local/bin:/usr/bin:/bin");
+        environment.put("LANG", "C.UTF-8");
+        environment.put("HOME", workDir.toString());
+        environment.put("TMPDIR", workDir.toString());
+
+        try {
+            return new Worker(builder.start(), workDir);
+        } catch (IOException e) {
+            deleteRecursively(workDir);
+            throw e;
+        }
+    }
+
+    // 애플리케이션이 jar 로 패키징되어 있어도 실행할 수 있도록 JavaWorkerMain 클래스 파일을 임시 디렉토리에 복사합니다.
+    private static Path extractWorkerClasses() {
+        try {
+            Path root = Files.createTempDirectory("java-worker");
+            String packagePath = JavaWorkerMain.class.getPackageName().replace('.', '/');
+            Path packageDir = Files.createDirectories(root.resolve(packagePath));
+            for (String name : WORKER_CLASSES) {
+                try (InputStream in = JavaWorkerMain.class.getResourceAsStream(name + ".class")) {
+                    if (in == null) {
+                        throw new IllegalStateException("실행용 클래스를 찾을 수 없습니다: " + name);
+                    }
+                    Files.copy(in, packageDir.resolve(name + ".class"));
+                }
+            }
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createTempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("실행용 임시 디렉토리를 지우지 못했습니다: {}", root);
+        }
+    }
+
+    /**
+     * 실행용 프로세스 하나와 그 전용 작업 디렉토리
+     * 닫으면 프로세스를 종료하고, 프로세스가 끝난 뒤 작업 디렉토리를 지웁니다.
+     */
+    public static final class Worker implements AutoCloseable {
+        @Getter private final Process process;
+        private final Path workDir;
+
+        private Worker(Process process, Path workDir) {
+            this.process = process;
+            this.workDir = workDir;
+        }
+
+        public boolean isAlive() {
+            return process.isAlive();
+        }
+
+        @Override
+        public void close() {
+            process.destroyForcibly();
+            process.onExit().whenComplete((exited, e) -> deleteRecursively(workDir));
+        }
+    }
+}
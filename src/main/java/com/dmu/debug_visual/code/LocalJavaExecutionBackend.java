@@ -0,0 +1,193 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.config.CompilerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Java 코드 실행(run)을 컴파일러 서버 대신 이 서버에서 처리하는 구현체
+ * 소스는 메모리에서 컴파일하고(같은 소스는 컴파일 결과물 캐시에서 재사용), 미리 띄워 둔 실행용 JVM 프로세스에서 실행합니다.
+ * 실행용 프로세스는 힙·스택·실행 시간·출력 길이가 제한되며, 환경 변수 없이 빈 작업 디렉토리에서 프로그램 하나를 실행하고 종료합니다.
+ * 같은 사용자 권한으로 실행되는 프로세스는 이 서버의 파일과 /proc 을 읽을 수 있으므로,
+ * 격리 명령(sandbox-command)이 설정되지 않으면 allow-unsandboxed 를 명시하지 않는 한 이 구현체를 사용하지 않습니다.
+ * 시각화(visualize)는 컴파일러 서버의 분석이 필요하므로 계속 RemoteExecutionBackend 가 처리합니다.
+ */
+@Slf4j
+@Component
+@Order(0)
+@ConditionalOnProperty(prefix = "compiler.local-java", name = "enabled", havingValue = "true")
+public class LocalJavaExecutionBackend implements ExecutionBackend {
+
+    private static final int TIMEOUT_EXIT_CODE = 124;
+
+    private final InMemoryJavaCompiler compiler = new InMemoryJavaCompiler();
+    private final CompiledArtifactCache artifactCache;
+    private final JavaWorkerPool workerPool;
+    private final long timeoutMillis;
+    private final boolean active;
+    private final Timer compileTimer;
+    private final Timer runTimer;
+
+    public LocalJavaExecutionBackend(CompilerProperties compilerProperties, CompiledArtifactCache artifactCache,
+                                     MeterRegistry meterRegistry) {
+        this.artifactCache = artifactCache;
+        CompilerProperties.LocalJava localJava = compilerProperties.getLocalJava();
+        String javaCommand = localJava.getJavaCommand() != null ? localJava.getJavaCommand()
+                : Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        this.timeoutMillis = localJava.getTimeoutMs();
+        // 워치독보다 늦게 걸리도록, 실행 제한 시간에 JVM 기동·종료에 쓰는 CPU 시간을 더합니다.
+        long cpuSeconds = TimeUnit.MILLISECONDS.toSeconds(timeoutMillis) + 2;
+        this.workerPool = new JavaWorkerPool(javaCommand, localJava.getMaxHeapMb(),
+                localJava.getMaxOutputChars(), localJava.getWarmWorkers(),
+                localJava.getSandboxCommand(), cpuSeconds, localJava.getMaxFileBytes());
+        this.compileTimer = meterRegistry.timer("code.execution.local", "phase", "compile");
+        this.runTimer = meterRegistry.timer("code.execution.local", "phase", "run");
+
+        boolean sandboxed = !localJava.getSandboxCommand().isEmpty();
+        if (!compiler.isAvailable()) {
+            log.warn("JDK 컴파일러를 사용할 수 없어 Java 코드는 컴파일러 서버에서 실행합니다. (JRE 로 실행 중)");
+            this.active = false;
+        } else if (!sandboxed && !localJava.isAllowUnsandboxed()) {
+            log.error("!!! compiler.local-java.enabled=true 이지만 compiler.local-java.sandbox-command 가 없어 로컬 Java 실행을 사용하지 않습니다. "
+                    + "격리 없이 실행하면 사용자 코드가 이 서버의 파일과 프로세스 정보(/proc)를 읽을 수 있습니다. "
+                    + "Java 코드는 계속 컴파일러 서버에서 실행합니다.");
+            this.active = false;
+        } else {
+            if (!sandboxed) {
+                log.warn("!!! 로컬 Java 실행을 격리 명령 없이 사용합니다 (compiler.local-java.allow-unsandboxed=true). "
+                        + "사용자 코드가 이 서버의 파일, 네트워크, /proc 에 접근할 수 있으므로 신뢰할 수 있는 환경에서만 사용하세요.");
+            }
+            this.active = true;
+            workerPool.start();
+            // 첫 컴파일은 컴파일러 클래스 로딩으로 느리므로 기동 시 한 번 미리 컴파일해 둡니다.
+            Schedulers.boundedElastic().schedule(() -> compiler.compile("public class Main { public static void main(String[] args) {} }"));
+        }
+    }
+
+    @Override
+    public boolean supports(ExecutionType type, String lang) {
+        return active && type == ExecutionType.RUN && "java".equalsIgnoreCase(lang);
+    }
+
+    @Override
+    public Mono<CodeRunResponseDTO> execute(ExecutionType type, CodeRunRequestDTO request) {
+        return Mono.fromCallable(() -> compileOrLoad(request.getCode()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(compiled -> compiled.isSuccess()
+                        ? run(compiled, request.getInput())
+                        : Mono.just(response("", compiled.getDiagnostics(), 1)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.close();
+    }
+
+    // Private Helper Methods
+
+    // 같은 소스를 이미 컴파일했으면 디스크에 보관된 결과물을 사용하고, 아니면 컴파일 후 보관합니다.
+    private InMemoryJavaCompiler.Result compileOrLoad(String code) {
+        String artifactKey = CompiledArtifactCache.keyOf("java", code);
+        CompiledArtifactCache.CompiledArtifact cached = artifactCache.get(artifactKey);
+        if (cached != null) {
+            return InMemoryJavaCompiler.Result.precompiled(cached.getEntryPoint(), cached.getFiles());
+        }
+
+        InMemoryJavaCompiler.Result compiled = compileTimer.record(() -> compiler.compile(code));
+        if (compiled.isSuccess()) {
+            artifactCache.put(artifactKey, new CompiledArtifactCache.CompiledArtifact(compiled.getMainClass(), compiled.getClasses()));
+        }
+        return compiled;
+    }
+
+    // 구독이 취소되면 (클라이언트 연결 끊김 등) 실행용 프로세스를 바로 종료합니다.
+    private Mono<CodeRunResponseDTO> run(InMemoryJavaCompiler.Result compiled, String input) {
+        return Mono.using(workerPool::acquire,
+                worker -> Mono.fromCallable(() -> runTimer.record(() -> runInWorker(worker.getProcess(), compiled, input)))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                JavaWorkerPool.Worker::close);
+    }
+
+    private CodeRunResponseDTO runInWorker(Process worker, InMemoryJavaCompiler.Result compiled, String input) {
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        Disposable watchdog = Schedulers.parallel().schedule(() -> {
+            timedOut.set(true);
+            worker.destroyForcibly();
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(worker.getOutputStream()));
+            out.writeUTF(compiled.getMainClass());
+            out.writeInt(compiled.getClasses().size());
+            for (Map.Entry<String, byte[]> entry : compiled.getClasses().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+            byte[] inputBytes = (input != null ? input : "").getBytes(StandardCharsets.UTF_8);
+            out.writeInt(inputBytes.length);
+            out.write(inputBytes);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(worker.getInputStream()));
+            int exitCode = in.readInt();
+            String stdout = readString(in);
+            String stderr = readString(in);
+            if (in.readBoolean()) {
+                stderr += "\n[출력이 너무 길어 일부만 표시합니다]";
+            }
+            if (exitCode == JavaWorkerMain.EXIT_CODE_FROM_PROCESS) {
+                exitCode = worker.waitFor();  // System.exit 으로 끝난 경우, 워치독이 최대 대기 시간을 보장합니다.
+            }
+            return response(stdout, stderr, exitCode);
+        } catch (IOException e) {
+            if (timedOut.get()) {
+                return response("", "실행 시간이 초과되었습니다. (" + timeoutMillis / 1000.0 + "초)", TIMEOUT_EXIT_CODE);
+            }
+            log.warn("실행용 JVM 프로세스가 비정상 종료되었습니다: {}", e.getMessage());
+            return response("", "실행 프로세스가 비정상 종료되었습니다.", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return response("", "실행이 중단되었습니다.", 1);
+        } finally {
+            watchdog.dispose();
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static CodeRunResponseDTO response(String stdout, String stderr, int exitCode) {
+        return CodeRunResponseDTO.builder()
+                .stdout(stdout)
+                .stderr(stderr)
+                .exitCode(exitCode)
+                .success(exitCode == 0)
+                .build();
+    }
+}
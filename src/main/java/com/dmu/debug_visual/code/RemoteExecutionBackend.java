@@ -0,0 +1,63 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.config.CompilerProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * 컴파일러(Flask) 서버에 HTTP 로 실행을 요청하는 기본 구현체
+ * 모든 실행 종류와 언어를 처리하므로 가장 마지막 순서로 둡니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class RemoteExecutionBackend implements ExecutionBackend {
+
+    private final CompilerRouter compilerRouter;
+    private final ExecutionOutputStore outputStore;
+    private final CompilerProperties compilerProperties;
+
+    @Override
+    public boolean supports(ExecutionType type, String lang) {
+        return true;
+    }
+
+    @Override
+    public Mono<CodeRunResponseDTO> execute(ExecutionType type, CodeRunRequestDTO request) {
+        CompilerRoute route = compilerRouter.route(request.getLang());
+        // 실행/시각화 요청은 같은 요청을 두 번 보내도 결과가 같으므로 hedged request 를 사용할 수 있습니다.
+        return route.getBackendPool().executeHedged(backend ->
+                requestCompiler(backend.getWebClient(), type.resolveUri(backend.getRunUrl()), request));
+    }
+
+    // Private Helper Methods
+
+    private Mono<CodeRunResponseDTO> requestCompiler(WebClient webClient, String uri, CodeRunRequestDTO request) {
+        return webClient.post()
+                .uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    // 길이를 아는 작은 응답만 메모리에서 바로 읽고, 큰 응답(무한 출력 등)은 임시 파일을 거쳐 읽습니다.
+                    // 어느 쪽이든 응답에 담는 출력 길이 제한은 같습니다.
+                    long length = response.headers().contentLength().orElse(-1L);
+                    if (length >= 0 && length <= compilerProperties.getOutput().getInMemoryThresholdBytes()) {
+                        outputStore.recordResponseSize(length);
+                        return response.bodyToMono(CodeRunResponseDTO.class).flatMap(outputStore::limitInline);
+                    }
+                    return outputStore.readLargeResponse(response.bodyToFlux(DataBuffer.class));
+                });
+    }
+}
@@ -0,0 +1,105 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.TraceStepsDTO;
+import com.dmu.debug_visual.code.dto.TraceSummaryDTO;
+import com.dmu.debug_visual.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/code/visualize/traces")
+@Tag(name = "코드 시각화 단계 조회 API", description = "시각화 결과를 서버에 저장하고 단계 구간별로 조회하거나 스트리밍합니다.")
+public class VisualizationTraceController {
+
+    // 한 번에 조회할 수 있는 최대 단계 수
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final CodeExecutionService codeExecutionService;
+    private final VisualizationTraceStore traceStore;
+
+    @PostMapping
+    @Operation(summary = "코드 시각화 (단계 데이터 서버 저장)",
+            description = "코드를 시각화 실행하고 결과 trace 를 서버에 저장합니다. 응답에는 실행 ID 와 전체 단계 수만 담기며, 단계 데이터는 별도로 조회합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "저장 성공", content = @Content(schema = @Schema(implementation = TraceSummaryDTO.class))),
+            @ApiResponse(responseCode = "429", description = "실행 대기열 초과 (Retry-After 헤더 참고)", content = @Content)
+    })
+    public Mono<ResponseEntity<TraceSummaryDTO>> createTrace(@RequestBody CodeRunRequestDTO requestDTO,
+                                                             @AuthenticationPrincipal CustomUserDetails userDetails,
+                                                             HttpServletRequest httpRequest) {
+        return codeExecutionService.visualizeToTrace(
+                requestDTO.getCode(),
+                requestDTO.getInput(),
+                requestDTO.getLang(),
+                ExecutionRequester.keyOf(userDetails, httpRequest)
+        ).map(trace -> ResponseEntity.ok(TraceSummaryDTO.builder()
+                .executionId(trace.getExecutionId())
+                .stepCount(trace.getSteps().size())
+                .stdout(trace.getStdout())
+                .stderr(trace.getStderr())
+                .exitCode(trace.getExitCode())
+                .success(trace.isSuccess())
+                .build()));
+    }
+
+    @GetMapping("/{executionId}/steps")
+    @Operation(summary = "시각화 단계 구간 조회", description = "[from, to) 구간의 단계를 조회합니다. 한 번에 최대 " + MAX_PAGE_SIZE + "단계까지 조회할 수 있습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공", content = @Content(schema = @Schema(implementation = TraceStepsDTO.class))),
+            @ApiResponse(responseCode = "404", description = "실행 ID 가 없거나 만료됨", content = @Content)
+    })
+    public ResponseEntity<TraceStepsDTO> getSteps(
+            @Parameter(description = "시각화 실행 ID") @PathVariable String executionId,
+            @Parameter(description = "구간 시작 (포함)") @RequestParam(defaultValue = "0") int from,
+            @Parameter(description = "구간 끝 (미포함)") @RequestParam(defaultValue = "50") int to) {
+        VisualizationTraceStore.StoredTrace trace = findTrace(executionId);
+        List<String> steps = trace.range(from, Math.min(to, from + MAX_PAGE_SIZE));
+        int start = Math.max(0, Math.min(from, trace.getSteps().size()));
+
+        return ResponseEntity.ok(TraceStepsDTO.builder()
+                .executionId(executionId)
+                .from(start)
+                .to(start + steps.size())
+                .total(trace.getSteps().size())
+                .steps("[" + String.join(",", steps) + "]")
+                .build());
+    }
+
+    @GetMapping(value = "/{executionId}/steps/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "시각화 단계 스트리밍 (NDJSON)", description = "from 단계부터 한 줄에 한 단계씩 NDJSON 으로 전송합니다.")
+    public Flux<String> streamSteps(
+            @Parameter(description = "시각화 실행 ID") @PathVariable String executionId,
+            @Parameter(description = "시작 단계 (포함)") @RequestParam(defaultValue = "0") int from) {
+        VisualizationTraceStore.StoredTrace trace = findTrace(executionId);
+        return Flux.fromIterable(trace.range(from, trace.getSteps().size()));
+    }
+
+    // Private Helper Methods
+
+    private VisualizationTraceStore.StoredTrace findTrace(String executionId) {
+        VisualizationTraceStore.StoredTrace trace = traceStore.find(executionId);
+        if (trace == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "시각화 결과를 찾을 수 없습니다: " + executionId);
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,176 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 시각화 실행 결과(trace)를 실행 ID 별로 서버에 보관합니다.
+ * trace 는 단계(step) 단위의 JSON 문자열 목록으로 나누어 저장하며,
+ * 클라이언트는 필요한 구간만 조회하거나 한 단계씩 스트리밍으로 받아갑니다.
+ */
+@Slf4j
+@Component
+public class VisualizationTraceStore {
+
+    private final ObjectMapper objectMapper;
+    private final int maxTraces;
+    private final long ttlMillis;
+
+    // key: 실행 ID, value: 저장된 trace (가장 오래 조회되지 않은 항목부터 제거)
+    private final LinkedHashMap<String, StoredTrace> traces = new LinkedHashMap<>(16, 0.75f, true);
+
+    public VisualizationTraceStore(ObjectMapper objectMapper,
+                                   @Value("${compiler.trace.max-traces:200}") int maxTraces,
+                                   @Value("${compiler.trace.ttl-ms:600000}") long ttlMillis) {
+        this.objectMapper = objectMapper;
+        this.maxTraces = maxTraces;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * 시각화 결과의 ast 를 단계별로 나누어 저장하고 실행 ID 를 발급합니다.
+     * ast 가 JSON 배열이면 각 원소를, {"steps": [...]} 형태면 steps 의 각 원소를 한 단계로 봅니다.
+     * 그 외의 값은 전체를 하나의 단계로 저장합니다. (JSON 이 아니면 문자열 값으로 저장)
+     */
+    public StoredTrace save(CodeRunResponseDTO response) {
+        StoredTrace trace = new StoredTrace(UUID.randomUUID().toString(), response, splitSteps(response.getAst()),
+                System.currentTimeMillis() + ttlMillis);
+        synchronized (traces) {
+            traces.put(trace.getExecutionId(), trace);
+            while (traces.size() > maxTraces) {
+                Iterator<String> eldest = traces.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return trace;
+    }
+
+    /**
+     * 저장된 trace 를 조회합니다. 없거나 만료되었으면 null 을 반환합니다.
+     */
+    public StoredTrace find(String executionId) {
+        synchronized (traces) {
+            StoredTrace trace = traces.get(executionId);
+            if (trace != null && trace.isExpired(System.currentTimeMillis())) {
+                traces.remove(executionId);
+                return null;
+            }
+            return trace;
+        }
+    }
+
+    /**
+     * 만료된 trace 를 주기적으로 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${compiler.trace.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (traces) {
+            traces.values().removeIf(trace -> trace.isExpired(now));
+        }
+    }
+
+    // Private Helper Methods
+
+    private List<String> splitSteps(String ast) {
+        if (ast == null || ast.isBlank()) {
+            return List.of();
+        }
+        // 전체 트리를 한 번에 만들지 않고, 단계 하나씩 읽어서 문자열로 저장합니다.
+        try (JsonParser parser = objectMapper.getFactory().createParser(ast)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                return readArrayElements(parser);
+            }
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken valueToken = parser.nextToken();
+                    if ("steps".equals(field) && valueToken == JsonToken.START_ARRAY) {
+                        return readArrayElements(parser);
+                    }
+                    parser.skipChildren();
+                }
+            }
+            // 올바른 JSON 이지만 단계 목록이 없는 경우, 전체를 하나의 단계로 저장합니다.
+            // 줄바꿈이 들어간 JSON 은 NDJSON 한 줄이 될 수 없으므로 한 줄로 다시 직렬화합니다.
+            if (parser.nextToken() == null) {
+                return List.of(objectMapper.readTree(ast).toString());
+            }
+        } catch (IOException e) {
+            log.debug("ast is not JSON, storing as a single step: {}", e.getMessage());
+        }
+        return List.of(toJsonString(ast));
+    }
+
+    private List<String> readArrayElements(JsonParser parser) throws IOException {
+        List<String> steps = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            JsonNode step = parser.readValueAsTree();
+            steps.add(objectMapper.writeValueAsString(step));
+        }
+        return Collections.unmodifiableList(steps);
+    }
+
+    private String toJsonString(String text) {
+        try {
+            return objectMapper.writeValueAsString(text);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 실행 ID 로 저장된 시각화 결과. steps 의 각 원소는 직렬화된 JSON 문자열입니다.
+     */
+    @Getter
+    public static class StoredTrace {
+        private final String executionId;
+        private final String stdout;
+        private final String stderr;
+        private final int exitCode;
+        private final boolean success;
+        private final List<String> steps;
+        private final long expiresAt;
+
+        private StoredTrace(String executionId, CodeRunResponseDTO response, List<String> steps, long expiresAt) {
+            this.executionId = executionId;
+            this.stdout = response.getStdout();
+            this.stderr = response.getStderr();
+            this.exitCode = response.getExitCode();
+            this.success = response.isSuccess();
+            this.steps = steps;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        /**
+         * [from, to) 구간의 단계를 반환합니다. 범위를 벗어난 값은 잘라냅니다.
+         */
+        public List<String> range(int from, int to) {
+            int start = Math.max(0, Math.min(from, steps.size()));
+            int end = Math.max(start, Math.min(to, steps.size()));
+            return steps.subList(start, end);
+        }
+    }
+}
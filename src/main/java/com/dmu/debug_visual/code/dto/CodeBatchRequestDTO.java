@@ -0,0 +1,26 @@
+package com.dmu.debug_visual.code.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeBatchRequestDTO {
+
+    @Schema(description = "사용자가 작성한 소스코드", example = "n = int(input())\nprint(n * 2)")
+    private String code;
+
+    @Schema(description = "언어 종류 (python, java, c)", example = "python")
+    private String lang;
+
+    @Schema(description = "테스트 케이스 목록 (입력값과 기대 출력)")
+    private List<TestCaseDTO> testCases = new ArrayList<>();
+}
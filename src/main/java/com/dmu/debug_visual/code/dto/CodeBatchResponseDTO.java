@@ -0,0 +1,29 @@
+package com.dmu.debug_visual.code.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "테스트 케이스 일괄 실행 결과")
+public class CodeBatchResponseDTO {
+
+    @Schema(description = "전체 테스트 케이스 수", example = "3")
+    private int total;
+
+    @Schema(description = "통과한 케이스 수", example = "2")
+    private int passed;
+
+    @Schema(description = "실패한 케이스 수 (기대 출력이 없는 케이스는 제외)", example = "1")
+    private int failed;
+
+    @Schema(description = "케이스별 결과 (요청 순서)")
+    private List<TestCaseResultDTO> results;
+}
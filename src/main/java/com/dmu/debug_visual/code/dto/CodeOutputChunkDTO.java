@@ -0,0 +1,35 @@
+package com.dmu.debug_visual.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "스트리밍 실행 중 전달되는 출력 조각")
+public class CodeOutputChunkDTO {
+
+    public static final String STDOUT = "stdout";
+    public static final String STDERR = "stderr";
+    public static final String EXIT = "exit";           // data: 종료 코드
+    public static final String TRUNCATED = "truncated"; // 출력 한도 초과로 중단됨
+    public static final String ERROR = "error";         // 실행 요청 실패
+    public static final String REJECTED = "rejected";   // 실행 대기열 초과 (data: 재시도까지 대기할 초)
+    public static final String CANCELLED = "cancelled"; // 같은 세션의 새 실행 요청으로 취소됨
+
+    @Schema(description = "조각 종류 (stdout, stderr, exit, truncated, error, rejected, cancelled)", example = "stdout")
+    private String type;
+
+    @Schema(description = "출력 내용 또는 종류별 값", example = "Hello\n")
+    private String data;
+
+    @JsonIgnore
+    public boolean isOutput() {
+        return STDOUT.equals(type) || STDERR.equals(type);
+    }
+}
@@ -1,5 +1,6 @@
 package com.dmu.debug_visual.code.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
@@ -26,4 +27,8 @@ public class CodeRunResponseDTO {
 
     @Schema(description = "코드 AST 또는 GPT 설명 (visualize 요청 시)", example = "1+2=3")
     private String ast;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "출력이 너무 길어 잘린 경우, 전체 출력을 내려받을 ID (/api/code/outputs/{outputId}/stdout)")
+    private String outputId;
 }
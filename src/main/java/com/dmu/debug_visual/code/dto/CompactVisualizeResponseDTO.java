@@ -0,0 +1,34 @@
+package com.dmu.debug_visual.code.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "코드 시각화 결과 (압축 형식)")
+public class CompactVisualizeResponseDTO {
+
+    @Schema(description = "표준 출력 결과", example = "Hello")
+    private String stdout;
+
+    @Schema(description = "표준 에러 출력", example = "")
+    private String stderr;
+
+    @Schema(description = "프로세스 종료 코드", example = "0")
+    private int exitCode;
+
+    @Schema(description = "성공 여부", example = "true")
+    private boolean success;
+
+    @Schema(description = "압축된 시각화 단계 ({keys, meta, steps}). 단계 목록이 아닌 ast 는 null 이며 ast 필드를 사용합니다.")
+    private JsonNode trace;
+
+    @Schema(description = "압축할 수 없는 경우의 원본 ast", example = "1+2=3")
+    private String ast;
+}
@@ -0,0 +1,27 @@
+package com.dmu.debug_visual.code.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "비동기 실행 작업 상태")
+public class ExecutionJobDTO {
+
+    @Schema(description = "작업 ID", example = "3f1c2a7e-8d4b-4c1e-9a2f-6b7d8e9f0a1b")
+    private String jobId;
+
+    @Schema(description = "실행 종류 (run, visualize)", example = "run")
+    private String type;
+
+    @Schema(description = "작업 상태 (PENDING, COMPLETED, FAILED, CANCELLED)", example = "COMPLETED")
+    private String status;
+
+    @Schema(description = "실행 결과 (완료 전에는 null)")
+    private CodeRunResponseDTO result;
+}
@@ -0,0 +1,20 @@
+package com.dmu.debug_visual.code.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TestCaseDTO {
+
+    @Schema(description = "표준 입력값", example = "5")
+    private String input;
+
+    @Schema(description = "기대 출력 (없으면 통과 여부를 판정하지 않음)", example = "120")
+    private String expectedOutput;
+}
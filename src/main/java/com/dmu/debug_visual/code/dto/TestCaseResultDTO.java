@@ -0,0 +1,33 @@
+package com.dmu.debug_visual.code.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "테스트 케이스 하나의 실행 결과")
+public class TestCaseResultDTO {
+
+    @Schema(description = "요청한 테스트 케이스 순번 (0부터)", example = "0")
+    private int index;
+
+    @Schema(description = "표준 출력 결과", example = "10")
+    private String stdout;
+
+    @Schema(description = "표준 에러 출력", example = "")
+    private String stderr;
+
+    @Schema(description = "프로세스 종료 코드", example = "0")
+    private int exitCode;
+
+    @Schema(description = "실행 성공 여부", example = "true")
+    private boolean success;
+
+    @Schema(description = "기대 출력과 일치 여부 (기대 출력이 없으면 null)", example = "true")
+    private Boolean passed;
+}
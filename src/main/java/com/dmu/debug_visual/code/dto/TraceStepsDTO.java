@@ -0,0 +1,33 @@
+package com.dmu.debug_visual.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "시각화 결과의 단계 구간")
+public class TraceStepsDTO {
+
+    @Schema(description = "시각화 실행 ID")
+    private String executionId;
+
+    @Schema(description = "구간 시작 (포함)", example = "0")
+    private int from;
+
+    @Schema(description = "구간 끝 (미포함)", example = "50")
+    private int to;
+
+    @Schema(description = "전체 단계 수", example = "128")
+    private int total;
+
+    // 저장된 단계 JSON 을 다시 파싱하지 않고 그대로 내보냅니다.
+    @JsonRawValue
+    @Schema(description = "단계 목록 (JSON 배열)", example = "[{\"line\":1}]")
+    private String steps;
+}
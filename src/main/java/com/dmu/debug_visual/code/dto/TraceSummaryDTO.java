@@ -0,0 +1,33 @@
+package com.dmu.debug_visual.code.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "서버에 저장된 시각화 결과 요약 (단계 데이터는 별도 조회)")
+public class TraceSummaryDTO {
+
+    @Schema(description = "시각화 실행 ID", example = "3f1c2a7e-8d4b-4c1e-9a2f-6b7d8e9f0a1b")
+    private String executionId;
+
+    @Schema(description = "전체 단계 수", example = "128")
+    private int stepCount;
+
+    @Schema(description = "표준 출력 결과", example = "Hello")
+    private String stdout;
+
+    @Schema(description = "표준 에러 출력", example = "")
+    private String stderr;
+
+    @Schema(description = "프로세스 종료 코드", example = "0")
+    private int exitCode;
+
+    @Schema(description = "성공 여부", example = "true")
+    private boolean success;
+}
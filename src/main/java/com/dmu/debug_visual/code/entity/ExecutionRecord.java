@@ -0,0 +1,51 @@
+package com.dmu.debug_visual.code.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 코드 실행 기록 (부하 분석 등에 사용)
+ * 실행 경로에서 바로 저장하지 않고 ExecutionHistoryRecorder 가 모아서 JDBC 배치로 저장합니다.
+ * 문자열 컬럼 길이를 바꾸면 ExecutionHistoryRecorder 의 MAX_*_LENGTH 도 함께 바꿉니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "execution_record", indexes = {
+        @Index(name = "idx_execution_record_executed_at", columnList = "executed_at"),
+        @Index(name = "idx_execution_record_code_hash", columnList = "code_hash")
+})
+public class ExecutionRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String requester; // 사용자 ID("user:...") 또는 IP("ip:...")
+
+    @Column(nullable = false, length = 20)
+    private String lang;
+
+    @Column(nullable = false, length = 20)
+    private String type; // RUN, VISUALIZE
+
+    @Column(name = "code_hash", nullable = false, length = 64)
+    private String codeHash; // (언어, 소스)의 SHA-256
+
+    @Column(nullable = false)
+    private long durationMs;
+
+    @Column(nullable = false)
+    private int exitCode;
+
+    @Column(nullable = false)
+    private long outputSize; // stdout + stderr 길이
+
+    @Column(name = "executed_at", nullable = false)
+    private LocalDateTime executedAt;
+}
@@ -0,0 +1,142 @@
+package com.dmu.debug_visual.collab.domain.document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 세션의 기준 문서 (서버가 보관하는 코드)
+ * 클라이언트 편집 연산은 서버가 받은 순서대로 버전을 매겨 적용하며,
+ * 클라이언트가 모르는 사이 먼저 적용된 연산이 있으면 그 연산들에 맞게 변환(OT)한 뒤 적용합니다.
+ * 변환에 쓰기 위해 최근 연산을 maxHistory 개까지 보관합니다.
+ */
+public class SessionDocument {
+
+    private final StringBuilder content;
+    private final Deque<TextOperation> history = new ArrayDeque<>();
+    private final int maxHistory;
+    private final int maxLength;
+    private long version; // 지금까지 적용된 연산 수
+    private long savedVersion; // 마지막으로 저장된 버전
+    private String lastEditedBy; // 마지막으로 편집한 사용자 ID
+    private LocalDateTime lastEditedAt;
+    private volatile long lastActivityMillis = System.currentTimeMillis(); // 메모리에서 내릴지 판단하는 마지막 사용 시각
+
+    public SessionDocument(int maxHistory, int maxLength) {
+        this(maxHistory, maxLength, "", 0, null, null);
+    }
+
+    /**
+     * 저장해 둔 문서로 복원합니다. 이전 연산 기록은 없으므로, 복원 전 버전 기준의 편집은 스냅샷으로 다시 맞추게 됩니다.
+     */
+    public SessionDocument(int maxHistory, int maxLength, String content, long version,
+                           String lastEditedBy, LocalDateTime lastEditedAt) {
+        this.maxHistory = maxHistory;
+        this.maxLength = maxLength;
+        this.content = new StringBuilder(content);
+        this.version = version;
+        this.savedVersion = version;
+        this.lastEditedBy = lastEditedBy;
+        this.lastEditedAt = lastEditedAt;
+    }
+
+    /**
+     * baseVersion 기준으로 만들어진 연산을 현재 문서에 맞게 변환하여 적용합니다.
+     * @param editorId 편집한 사용자 ID
+     * @return 적용된(변환된) 연산과 새 버전. 기준 버전이 너무 오래되었거나 문서와 맞지 않으면 null
+     */
+    public synchronized AppliedOperation apply(long baseVersion, TextOperation operation, String editorId) {
+        long oldestKnownVersion = version - history.size();
+        if (baseVersion > version || baseVersion < oldestKnownVersion) {
+            return null;
+        }
+
+        TextOperation transformed = operation;
+        try {
+            // 클라이언트가 보지 못한 연산들(baseVersion 이후)에 맞게 차례로 변환합니다.
+            List<TextOperation> concurrent = new ArrayList<>(history).subList((int) (baseVersion - oldestKnownVersion), history.size());
+            for (TextOperation applied : concurrent) {
+                transformed = TextOperation.transform(transformed, applied)[0];
+            }
+            if (transformed.getTargetLength() > maxLength) {
+                return null;
+            }
+            transformed.applyTo(content);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        history.addLast(transformed);
+        if (history.size() > maxHistory) {
+            history.removeFirst();
+        }
+        version++;
+        lastEditedBy = editorId;
+        lastEditedAt = LocalDateTime.now();
+        touch();
+        return new AppliedOperation(version, transformed);
+    }
+
+    /**
+     * 문서 전체를 주어진 내용으로 바꿉니다. 바뀐 부분만 담은 연산으로 적용됩니다.
+     * @return 적용된 연산과 새 버전. 내용이 같으면 null
+     */
+    public synchronized AppliedOperation replace(String newContent, String editorId) {
+        if (newContent.length() > maxLength) {
+            return null;
+        }
+        TextOperation operation = TextOperation.fromDiff(content.toString(), newContent);
+        if (operation.isNoop()) {
+            return null;
+        }
+        return apply(version, operation, editorId);
+    }
+
+    public synchronized String getContent() {
+        return content.toString();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * 현재 내용과 버전, 마지막 편집 정보를 함께 읽습니다. (서로 어긋나지 않도록)
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(version, content.toString(), lastEditedBy, lastEditedAt);
+    }
+
+    /**
+     * 마지막 저장 이후 적용된 편집이 있으면 true 입니다.
+     */
+    public synchronized boolean hasUnsavedChanges() {
+        return version > savedVersion;
+    }
+
+    /**
+     * 주어진 버전까지 저장되었음을 기록합니다. (더 오래된 버전의 저장 완료로 되돌아가지 않음)
+     */
+    public synchronized void markSaved(long savedVersion) {
+        this.savedVersion = Math.max(this.savedVersion, savedVersion);
+    }
+
+    /**
+     * 문서를 사용했음을 기록합니다. (구독, 조회 등 편집 외 사용)
+     */
+    public void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+    }
+
+    public long getLastActivityMillis() {
+        return lastActivityMillis;
+    }
+
+    public record AppliedOperation(long version, TextOperation operation) {
+    }
+
+    public record Snapshot(long version, String content, String lastEditedBy, LocalDateTime lastEditedAt) {
+    }
+}
@@ -0,0 +1,231 @@
+package com.dmu.debug_visual.collab.domain.document;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 문서 전체를 처음부터 끝까지 훑는 편집 연산 (ot.js 의 TextOperation 과 같은 형식과 변환 규칙)
+ * JSON 으로는 구성 요소 배열로 주고받습니다. 양수는 유지(retain), 음수는 삭제(delete), 문자열은 삽입(insert) 입니다.
+ *   예) "abcdef" 의 3번째 글자 뒤에 "X" 를 넣고 마지막 글자를 지움 → [3, "X", 2, -1]
+ * 유지/삭제 길이와 위치는 UTF-16 코드 단위(Java char, JavaScript 문자열 길이)입니다.
+ */
+@Getter
+public class TextOperation {
+
+    private final List<Object> ops = new ArrayList<>();
+    private int baseLength;   // 적용할 수 있는 문서 길이
+    private int targetLength; // 적용 후 문서 길이
+
+    @JsonCreator
+    public static TextOperation fromJson(List<Object> components) {
+        TextOperation operation = new TextOperation();
+        for (Object component : components) {
+            if (component instanceof String text) {
+                operation.insert(text);
+            } else if (component instanceof Number number && number.intValue() > 0) {
+                operation.retain(number.intValue());
+            } else if (component instanceof Number number && number.intValue() < 0) {
+                operation.delete(-number.intValue());
+            } else {
+                throw new IllegalArgumentException("Invalid operation component: " + component);
+            }
+        }
+        return operation;
+    }
+
+    /**
+     * 이전 문서와 새 문서의 공통 앞부분/뒷부분을 제외한 가운데만 바꾸는 연산을 만듭니다.
+     */
+    public static TextOperation fromDiff(String before, String after) {
+        int prefix = 0;
+        int maxPrefix = Math.min(before.length(), after.length());
+        while (prefix < maxPrefix && before.charAt(prefix) == after.charAt(prefix)) {
+            prefix++;
+        }
+        if (prefix > 0 && Character.isHighSurrogate(before.charAt(prefix - 1))) {
+            prefix--; // 서로게이트 쌍을 나누지 않음
+        }
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix
+                && before.charAt(before.length() - 1 - suffix) == after.charAt(after.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(before.charAt(before.length() - suffix))) {
+            suffix--;
+        }
+        return new TextOperation()
+                .retain(prefix)
+                .delete(before.length() - prefix - suffix)
+                .insert(after.substring(prefix, after.length() - suffix))
+                .retain(suffix);
+    }
+
+    @JsonValue
+    public List<Object> toJson() {
+        return Collections.unmodifiableList(ops);
+    }
+
+    public TextOperation retain(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Retain length must be positive: " + length);
+        }
+        if (length == 0) {
+            return this;
+        }
+        baseLength += length;
+        targetLength += length;
+        int last = ops.size() - 1;
+        if (last >= 0 && isRetain(ops.get(last))) {
+            ops.set(last, (Integer) ops.get(last) + length);
+        } else {
+            ops.add(length);
+        }
+        return this;
+    }
+
+    public TextOperation insert(String text) {
+        if (text.isEmpty()) {
+            return this;
+        }
+        targetLength += text.length();
+        int last = ops.size() - 1;
+        if (last >= 0 && isInsert(ops.get(last))) {
+            ops.set(last, ops.get(last) + text);
+        } else if (last >= 0 && isDelete(ops.get(last))) {
+            // 삽입과 삭제가 이어지면 항상 삽입을 먼저 둡니다. (같은 편집이 항상 같은 형태가 되도록)
+            if (last >= 1 && isInsert(ops.get(last - 1))) {
+                ops.set(last - 1, ops.get(last - 1) + text);
+            } else {
+                ops.add(last, text);
+            }
+        } else {
+            ops.add(text);
+        }
+        return this;
+    }
+
+    public TextOperation delete(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Delete length must be positive: " + length);
+        }
+        if (length == 0) {
+            return this;
+        }
+        baseLength += length;
+        int last = ops.size() - 1;
+        if (last >= 0 && isDelete(ops.get(last))) {
+            ops.set(last, (Integer) ops.get(last) - length);
+        } else {
+            ops.add(-length);
+        }
+        return this;
+    }
+
+    public boolean isNoop() {
+        return ops.isEmpty() || (ops.size() == 1 && isRetain(ops.get(0)));
+    }
+
+    /**
+     * 문서에 연산을 적용합니다. 문서 길이가 baseLength 와 다르면 IllegalArgumentException 을 던집니다.
+     */
+    public void applyTo(StringBuilder document) {
+        if (document.length() != baseLength) {
+            throw new IllegalArgumentException("Operation base length " + baseLength
+                    + " does not match document length " + document.length());
+        }
+        int index = 0;
+        for (Object op : ops) {
+            if (isRetain(op)) {
+                index += (Integer) op;
+            } else if (isInsert(op)) {
+                document.insert(index, (String) op);
+                index += ((String) op).length();
+            } else {
+                document.delete(index, index - (Integer) op);
+            }
+        }
+    }
+
+    /**
+     * 같은 문서에 동시에 만들어진 두 연산을 서로 상대 연산 뒤에 적용할 수 있도록 변환합니다.
+     * 결과 [a', b'] 는 apply(apply(doc, a), b') == apply(apply(doc, b), a') 를 만족합니다.
+     * 같은 위치에 동시에 삽입하면 a 의 삽입이 앞에 옵니다.
+     */
+    public static TextOperation[] transform(TextOperation a, TextOperation b) {
+        if (a.baseLength != b.baseLength) {
+            throw new IllegalArgumentException("Both operations have to have the same base length");
+        }
+        TextOperation aPrime = new TextOperation();
+        TextOperation bPrime = new TextOperation();
+        Iterator<Object> aOps = a.ops.iterator();
+        Iterator<Object> bOps = b.ops.iterator();
+        Object aOp = next(aOps);
+        Object bOp = next(bOps);
+
+        while (aOp != null || bOp != null) {
+            if (isInsert(aOp)) {
+                aPrime.insert((String) aOp);
+                bPrime.retain(((String) aOp).length());
+                aOp = next(aOps);
+                continue;
+            }
+            if (isInsert(bOp)) {
+                aPrime.retain(((String) bOp).length());
+                bPrime.insert((String) bOp);
+                bOp = next(bOps);
+                continue;
+            }
+            if (aOp == null || bOp == null) {
+                throw new IllegalArgumentException("Operations are not compatible");
+            }
+
+            int aLength = Math.abs((Integer) aOp);
+            int bLength = Math.abs((Integer) bOp);
+            int length = Math.min(aLength, bLength);
+            if (isRetain(aOp) && isRetain(bOp)) {
+                aPrime.retain(length);
+                bPrime.retain(length);
+            } else if (isDelete(aOp) && isRetain(bOp)) {
+                aPrime.delete(length);
+            } else if (isRetain(aOp) && isDelete(bOp)) {
+                bPrime.delete(length);
+            }
+            // 둘 다 삭제한 구간은 양쪽 모두 이미 지워졌으므로 아무것도 하지 않습니다.
+
+            aOp = aLength > length ? shorten(aOp, length) : next(aOps);
+            bOp = bLength > length ? shorten(bOp, length) : next(bOps);
+        }
+        return new TextOperation[]{aPrime, bPrime};
+    }
+
+    // Private Helper Methods
+
+    private static Object next(Iterator<Object> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    // 유지/삭제 구성 요소의 길이를 length 만큼 줄입니다.
+    private static Object shorten(Object op, int length) {
+        int value = (Integer) op;
+        return value > 0 ? value - length : value + length;
+    }
+
+    private static boolean isRetain(Object op) {
+        return op instanceof Integer value && value > 0;
+    }
+
+    private static boolean isInsert(Object op) {
+        return op instanceof String;
+    }
+
+    private static boolean isDelete(Object op) {
+        return op instanceof Integer value && value < 0;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -35,6 +36,18 @@ public class CodeSession {
     @ColumnDefault("'ACTIVE'") // DB에 기본값을 'ACTIVE'로 설정
     private SessionStatus status;
 
+    // 세션 기준 문서 (비활성 세션을 메모리에서 내릴 때 저장)
+    @Column(columnDefinition = "LONGTEXT")
+    private String content;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long contentVersion; // 저장된 문서의 편집 버전
+
+    private String lastEditedBy; // 마지막으로 편집한 사용자 ID
+
+    private LocalDateTime lastEditedAt;
+
     public enum SessionStatus {
         ACTIVE,  // 활성화 (방송 중)
         INACTIVE // 비활성화 (방송 꺼짐)
@@ -52,6 +65,13 @@ public class CodeSession {
         this.status = status;
     }
 
+    public void updateDocument(String content, long contentVersion, String lastEditedBy, LocalDateTime lastEditedAt) {
+        this.content = content;
+        this.contentVersion = contentVersion;
+        this.lastEditedBy = lastEditedBy;
+        this.lastEditedAt = lastEditedAt;
+    }
+
     @OneToMany(mappedBy = "codeSession", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SessionParticipant> participants = new ArrayList<>();
 }
\ No newline at end of file
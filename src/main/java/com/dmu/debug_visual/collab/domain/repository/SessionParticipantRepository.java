@@ -6,12 +6,17 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SessionParticipantRepository extends JpaRepository<SessionParticipant, Long> {
     // ✨ 세션 ID와 유저 ID로 참여 정보를 찾는 메소드
     Optional<SessionParticipant> findByCodeSession_SessionIdAndUser_UserId(String sessionId, String userId);
 
+    // ✨ 세션 권한 테이블을 메모리에 올리기 위해 세션의 모든 참여자를 사용자와 함께 조회하는 메소드
+    @Query("SELECT sp FROM SessionParticipant sp JOIN FETCH sp.user WHERE sp.codeSession.sessionId = :sessionId")
+    List<SessionParticipant> findAllWithUserBySessionId(@Param("sessionId") String sessionId);
+
     // ✨ 강퇴 기능을 위해 특정 방의 모든 세션에서 특정 유저를 삭제하는 메소드
     @Modifying
     @Query("DELETE FROM SessionParticipant sp WHERE sp.codeSession.room.roomId = :roomId AND sp.user.userId = :userId")
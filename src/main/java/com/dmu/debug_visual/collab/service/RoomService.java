@@ -18,8 +18,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -96,6 +99,10 @@ public class RoomService {
 
         sessionParticipantRepository.deleteAllByRoomIdAndUserId(roomId, targetUserId);
 
+        // 메모리의 세션 권한 표에서도 제거 (DB 반영이 확정된 뒤)
+        List<String> sessionIds = room.getCodeSessions().stream().map(CodeSession::getSessionId).toList();
+        afterCommit(() -> sessionIds.forEach(sessionId -> webSocketRoomService.removeSessionPermission(sessionId, targetUserId)));
+
         broadcastRoomState(roomId); // ✨ 강퇴 후 방송!
     }
 
@@ -164,17 +171,46 @@ public class RoomService {
 
     // 3. 세션 권한 관리 (Permission Management)
 
+    /**
+     * 세션의 권한 표를 DB 에서 읽어 메모리에 올립니다. 이미 올라가 있거나 실시간 참여자가 없는 세션이면 아무것도 하지 않습니다.
+     * 세션이 활성화될 때(첫 구독) 한 번 호출되며, 이후 권한 확인은 메모리에서만 이루어집니다.
+     * 읽는 동안 권한 변경이 커밋되었으면 그 변경이 반영되도록 다시 읽습니다.
+     * @param sessionId 활성화된 세션의 ID
+     */
+    public void loadSessionPermissions(String sessionId) {
+        while (!webSocketRoomService.isSessionPermissionLoaded(sessionId) && !webSocketRoomService.isSessionEmpty(sessionId)) {
+            long version = webSocketRoomService.getSessionPermissionVersion();
+            Map<String, SessionParticipant.Permission> permissions = sessionParticipantRepository.findAllWithUserBySessionId(sessionId).stream()
+                    .collect(Collectors.toMap(participant -> participant.getUser().getUserId(), SessionParticipant::getPermission));
+            if (webSocketRoomService.loadSessionPermissions(sessionId, version, permissions)) {
+                return;
+            }
+        }
+    }
+
     /**
      * 특정 세션에 대한 사용자의 쓰기 권한 여부를 확인합니다.
+     * 코드 수정 메시지마다 호출되므로 트랜잭션 없이 메모리의 권한 표만 확인합니다.
+     * 실시간 참여자가 없는(활성화되지 않은) 세션이면 DB 를 조회하지 않고 false 를 반환합니다.
      * @param sessionId 확인할 세션의 ID
      * @param userId 확인할 사용자의 ID
      * @return 쓰기 권한이 있으면 true, 아니면 false
      */
-    @Transactional(readOnly = true)
     public boolean hasWritePermissionInSession(String sessionId, String userId) {
-        return sessionParticipantRepository.findByCodeSession_SessionIdAndUser_UserId(sessionId, userId)
-                .map(participant -> participant.getPermission() == SessionParticipant.Permission.READ_WRITE)
-                .orElse(false);
+        loadSessionPermissions(sessionId);
+        return webSocketRoomService.getSessionPermission(sessionId, userId) == SessionParticipant.Permission.READ_WRITE;
+    }
+
+    /**
+     * 사용자가 특정 세션의 참여자인지 확인합니다. (권한과 무관)
+     * 활성화되지 않은 세션이면 DB 를 조회하지 않고 false 를 반환합니다.
+     * @param sessionId 확인할 세션의 ID
+     * @param userId 확인할 사용자의 ID
+     * @return 세션 참여자이면 true
+     */
+    public boolean isSessionParticipant(String sessionId, String userId) {
+        loadSessionPermissions(sessionId);
+        return webSocketRoomService.getSessionPermission(sessionId, userId) != null;
     }
 
     /**
@@ -190,6 +226,7 @@ public class RoomService {
         SessionParticipant participant = sessionParticipantRepository.findByCodeSession_SessionIdAndUser_UserId(sessionId, targetUserId)
                 .orElseThrow(() -> new EntityNotFoundException("Participant not found in this session."));
         participant.updatePermission(SessionParticipant.Permission.READ_WRITE);
+        afterCommit(() -> webSocketRoomService.updateSessionPermission(sessionId, targetUserId, SessionParticipant.Permission.READ_WRITE));
     }
 
     /**
@@ -209,10 +246,28 @@ public class RoomService {
         SessionParticipant participant = sessionParticipantRepository.findByCodeSession_SessionIdAndUser_UserId(sessionId, targetUserId)
                 .orElseThrow(() -> new EntityNotFoundException("Participant not found in this session."));
         participant.updatePermission(SessionParticipant.Permission.READ_ONLY);
+        afterCommit(() -> webSocketRoomService.updateSessionPermission(sessionId, targetUserId, SessionParticipant.Permission.READ_ONLY));
     }
 
     // Private Helper Methods
 
+    /**
+     * 트랜잭션이 커밋된 뒤에 메모리 상태를 바꾸도록 예약하는 private 헬퍼 메소드
+     * (DB 반영이 실패했는데 메모리의 권한만 바뀌는 일이 없도록)
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /**
      * 세션을 찾고, 요청자가 해당 세션의 생성자인지 검증하는 private 헬퍼 메소드
      */
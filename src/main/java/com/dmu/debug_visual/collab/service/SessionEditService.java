@@ -0,0 +1,91 @@
+package com.dmu.debug_visual.collab.service;
+
+import com.dmu.debug_visual.collab.domain.document.SessionDocument;
+import com.dmu.debug_visual.collab.domain.document.SessionDocument.AppliedOperation;
+import com.dmu.debug_visual.collab.websocket.dto.CodeMessage;
+import com.dmu.debug_visual.collab.websocket.dto.DocumentSnapshot;
+import com.dmu.debug_visual.security.CustomUserDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Service;
+
+/**
+ * 세션 기준 문서에 편집 연산을 적용하고, 적용된 연산만 세션 참여자에게 방송합니다.
+ * 편집마다 문서 전체가 아닌 바뀐 부분만 전송되므로, 전송량과 직렬화 비용이 파일 크기가 아닌 편집 크기에 비례합니다.
+ * 방송은 SessionUpdateBatcher 가 짧은 시간 단위로 묶어서 보냅니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionEditService {
+
+    private final WebSocketRoomService webSocketRoomService;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final SessionUpdateBatcher updateBatcher;
+
+    /**
+     * 편집 메시지를 적용하고 방송합니다. 연산을 적용할 수 없으면 보낸 사람에게만 문서 전체를 보내 다시 맞추게 합니다.
+     * @param sender 권한 확인을 마친 보낸 사람
+     */
+    public void applyEdit(String roomId, String sessionId, CustomUserDetails sender, CodeMessage message) {
+        SessionDocument document = webSocketRoomService.getOrCreateSessionDocument(sessionId);
+
+        // 방송 순서가 버전 순서와 같도록, 적용과 방송 대기열 추가를 문서 단위로 묶습니다.
+        synchronized (document) {
+            AppliedOperation applied;
+            if (message.getOperation() != null) {
+                applied = message.getBaseVersion() != null
+                        ? document.apply(message.getBaseVersion(), message.getOperation(), sender.getUsername())
+                        : null;
+                if (applied == null) {
+                    log.debug("Rejected operation from {} in session {} (base version {})",
+                            sender.getUsername(), sessionId, message.getBaseVersion());
+                    sendSnapshot(roomId, sessionId, sender.getUsername());
+                    return;
+                }
+            } else if (message.getContent() != null) {
+                applied = document.replace(message.getContent(), sender.getUsername());
+                if (applied == null) {
+                    return; // 바뀐 내용이 없음
+                }
+            } else {
+                return;
+            }
+
+            CodeMessage broadcast = new CodeMessage();
+            broadcast.setSenderId(sender.getUsername());
+            broadcast.setSenderName(sender.getUser().getName());
+            broadcast.setVersion(applied.version());
+            broadcast.setOperation(applied.operation());
+            broadcast.setClientOpId(message.getClientOpId());
+
+            updateBatcher.enqueue(roomId, sessionId, broadcast);
+        }
+    }
+
+    /**
+     * 세션 기준 문서 전체를 특정 사용자에게만 보냅니다.
+     * ('/user/queue/room/{roomId}/session/{sessionId}/document')
+     */
+    public void sendSnapshot(String roomId, String sessionId, String userId) {
+        messagingTemplate.convertAndSendToUser(userId,
+                String.format("/queue/room/%s/session/%s/document", roomId, sessionId), snapshotOf(sessionId));
+    }
+
+    /**
+     * 세션 기준 문서의 현재 내용, 버전과 마지막 편집 정보를 반환합니다.
+     */
+    public DocumentSnapshot snapshotOf(String sessionId) {
+        SessionDocument document = webSocketRoomService.getOrCreateSessionDocument(sessionId);
+        document.touch();
+        SessionDocument.Snapshot snapshot = document.snapshot();
+        return DocumentSnapshot.builder()
+                .sessionId(sessionId)
+                .version(snapshot.version())
+                .content(snapshot.content())
+                .lastEditedBy(snapshot.lastEditedBy())
+                .lastEditedAt(snapshot.lastEditedAt())
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.dmu.debug_visual.collab.service;
+
+import com.dmu.debug_visual.code.CodeExecutionCache;
+import com.dmu.debug_visual.code.CodeExecutionService;
+import com.dmu.debug_visual.code.ExecutionRateLimiter;
+import com.dmu.debug_visual.code.ExecutionRejectedException;
+import com.dmu.debug_visual.code.ExecutionType;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.collab.websocket.dto.SessionRunMessage;
+import com.dmu.debug_visual.collab.websocket.dto.SessionRunRequest;
+import com.dmu.debug_visual.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 협업 세션의 현재 코드를 한 번만 실행하고, 결과를 세션 참여자 모두에게 방송합니다.
+ * 참여자마다 따로 실행하지 않으므로 방 인원수만큼 컴파일러 부하가 늘지 않습니다.
+ * 같은 코드/입력의 실행 요청이 진행 중이거나 중복 판단 시간 안에 다시 들어오면 새로 실행하지 않습니다.
+ */
+@Slf4j
+@Service
+public class SessionExecutionService {
+
+    private final CodeExecutionService codeExecutionService;
+    private final ExecutionRateLimiter rateLimiter;
+    private final WebSocketRoomService webSocketRoomService;
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final long dedupeWindowMillis;
+
+    // key: sessionId, value: 세션의 마지막 공동 실행
+    private final Map<String, SessionRun> lastRuns = new ConcurrentHashMap<>();
+
+    public SessionExecutionService(CodeExecutionService codeExecutionService,
+                                   ExecutionRateLimiter rateLimiter,
+                                   WebSocketRoomService webSocketRoomService,
+                                   SimpMessageSendingOperations messagingTemplate,
+                                   @Value("${collab.run.dedupe-window-ms:3000}") long dedupeWindowMillis) {
+        this.codeExecutionService = codeExecutionService;
+        this.rateLimiter = rateLimiter;
+        this.webSocketRoomService = webSocketRoomService;
+        this.messagingTemplate = messagingTemplate;
+        this.dedupeWindowMillis = dedupeWindowMillis;
+    }
+
+    /**
+     * 세션의 현재 코드를 실행합니다. 실행 시작과 결과는 세션 토픽으로 방송됩니다.
+     * 실행할 코드가 없거나, 실행이 거부·실패하거나 결과 없이 끝나면 RUN_REJECTED 를 사유와 함께 보냅니다.
+     * @param requester 실행을 요청한 세션 참여자
+     */
+    public void runForSession(String roomId, String sessionId, User requester, SessionRunRequest request) {
+        String topic = String.format("/topic/room/%s/session/%s", roomId, sessionId);
+        String runId = UUID.randomUUID().toString();
+        SessionRunMessage.SessionRunMessageBuilder message = SessionRunMessage.builder()
+                .runId(runId)
+                .triggeredById(requester.getUserId())
+                .triggeredByName(requester.getName())
+                .lang(request.getLang());
+
+        String code = webSocketRoomService.getSessionCode(sessionId);
+        if (code == null) {
+            log.debug("No shared code to run in session: {}", sessionId);
+            messagingTemplate.convertAndSend(topic, message.type(SessionRunMessage.REJECTED)
+                    .message("세션에 실행할 코드가 아직 없습니다. 코드를 편집한 뒤 다시 시도해주세요.")
+                    .build());
+            return;
+        }
+
+        String fingerprint = CodeExecutionCache.keyOf(ExecutionType.RUN, code, request.getInput(), request.getLang());
+        if (!tryStart(sessionId, runId, fingerprint)) {
+            log.debug("Duplicate run trigger ignored in session: {}", sessionId);
+            return;
+        }
+
+        // 공동 실행도 요청한 사용자의 실행 요청 한도를 사용합니다.
+        String requesterKey = "user:" + requester.getUserId();
+        long retryAfterMillis = rateLimiter.tryAcquire(requesterKey, requester.getRole().name());
+        if (retryAfterMillis > 0) {
+            finish(sessionId, runId);
+            messagingTemplate.convertAndSend(topic, message.type(SessionRunMessage.REJECTED)
+                    .message("실행 요청이 너무 많습니다. " + (retryAfterMillis + 999) / 1000 + "초 후 다시 시도해주세요.")
+                    .build());
+            return;
+        }
+
+        messagingTemplate.convertAndSend(topic, message.type(SessionRunMessage.STARTED).build());
+        codeExecutionService.runCode(code, request.getInput(), request.getLang(), requesterKey)
+                .map(result -> message.type(SessionRunMessage.COMPLETED).result(result).build())
+                .onErrorResume(ExecutionRejectedException.class, e -> Mono.just(message.type(SessionRunMessage.REJECTED)
+                        .message(e.getMessage())
+                        .build()))
+                // RUN_STARTED 를 받은 참여자가 결과를 계속 기다리지 않도록, 결과 없이 끝나거나 실패해도 종료 메시지를 보냅니다.
+                .onErrorResume(e -> {
+                    log.error("Session run failed in session {}: {}", sessionId, e.getMessage());
+                    return Mono.just(message.type(SessionRunMessage.REJECTED)
+                            .message("코드 실행 중 오류가 발생했습니다.")
+                            .build());
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> message.type(SessionRunMessage.REJECTED)
+                        .message("실행 결과를 받지 못했습니다.")
+                        .build()))
+                .doFinally(signal -> finish(sessionId, runId))
+                .subscribe(completed -> messagingTemplate.convertAndSend(topic, completed));
+    }
+
+    /**
+     * 중복 판단 시간이 지난 실행 기록을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${collab.run.purge-interval-ms:60000}")
+    public void purgeFinished() {
+        long now = System.currentTimeMillis();
+        lastRuns.values().removeIf(run -> !run.running() && now - run.finishedAt() >= dedupeWindowMillis);
+    }
+
+    // Private Helper Methods
+
+    // 같은 코드/입력의 실행이 진행 중이거나 끝난 지 중복 판단 시간이 지나지 않았으면 false
+    private boolean tryStart(String sessionId, String runId, String fingerprint) {
+        long now = System.currentTimeMillis();
+        SessionRun started = new SessionRun(runId, fingerprint, true, 0);
+        SessionRun current = lastRuns.compute(sessionId, (key, previous) -> {
+            if (previous != null && previous.fingerprint().equals(fingerprint)
+                    && (previous.running() || now - previous.finishedAt() < dedupeWindowMillis)) {
+                return previous;
+            }
+            return started;
+        });
+        return current == started;
+    }
+
+    private void finish(String sessionId, String runId) {
+        long now = System.currentTimeMillis();
+        lastRuns.computeIfPresent(sessionId, (key, run) ->
+                run.runId().equals(runId) ? new SessionRun(runId, run.fingerprint(), false, now) : run);
+    }
+
+    private record SessionRun(String runId, String fingerprint, boolean running, long finishedAt) {
+    }
+}
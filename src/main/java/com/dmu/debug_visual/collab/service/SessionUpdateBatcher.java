@@ -0,0 +1,121 @@
+package com.dmu.debug_visual.collab.service;
+
+import com.dmu.debug_visual.collab.websocket.dto.CodeMessage;
+import com.dmu.debug_visual.collab.websocket.dto.CodeUpdateBatch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션별로 편집 방송을 잠시 모았다가 하나의 메시지(CodeUpdateBatch)로 보냅니다.
+ * 빠르게 입력할 때 편집마다 구독자 수만큼 직렬화/전송하던 작업이 묶음 단위로 줄어듭니다.
+ * - 마지막 편집 후 windowMillis 동안 새 편집이 없으면 보냄
+ * - 계속 입력 중이어도 첫 편집 후 maxDelayMillis 가 지나거나 maxSize 개가 모이면 보냄 (추가 지연 상한)
+ */
+@Component
+public class SessionUpdateBatcher {
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final long windowMillis;
+    private final long maxDelayMillis;
+    private final int maxSize;
+    private final DistributionSummary batchSize;
+
+    // key: sessionId, value: 보내기 전 모아 둔 편집
+    private final Map<String, PendingBatch> batches = new ConcurrentHashMap<>();
+
+    public SessionUpdateBatcher(SimpMessageSendingOperations messagingTemplate,
+                                @Value("${collab.batch.window-ms:16}") long windowMillis,
+                                @Value("${collab.batch.max-delay-ms:50}") long maxDelayMillis,
+                                @Value("${collab.batch.max-size:100}") int maxSize,
+                                MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.windowMillis = windowMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxSize = maxSize;
+        this.batchSize = DistributionSummary.builder("collab.code.update.batch.size")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 방송할 편집을 추가합니다. 같은 세션의 편집은 추가한 순서대로 전송됩니다.
+     */
+    public void enqueue(String roomId, String sessionId, CodeMessage update) {
+        while (true) {
+            PendingBatch batch = batches.computeIfAbsent(sessionId, k -> new PendingBatch(roomId, sessionId));
+            synchronized (batch) {
+                if (batch.removed) {
+                    continue; // 방금 비워져 제거된 묶음이면 새 묶음으로 다시 시도
+                }
+                batch.add(update);
+                return;
+            }
+        }
+    }
+
+    private class PendingBatch {
+        private final String roomId;
+        private final String sessionId;
+        private List<CodeMessage> updates = new ArrayList<>();
+        private long firstAt;
+        private Disposable timer;
+        private boolean removed;
+
+        private PendingBatch(String roomId, String sessionId) {
+            this.roomId = roomId;
+            this.sessionId = sessionId;
+        }
+
+        // synchronized (this) 안에서 호출
+        private void add(CodeMessage update) {
+            // 시각도 타이머와 같은 스케줄러 기준으로 잽니다. (테스트에서는 가상 시간)
+            Scheduler scheduler = Schedulers.parallel();
+            long now = scheduler.now(TimeUnit.MILLISECONDS);
+            if (updates.isEmpty()) {
+                firstAt = now;
+            }
+            updates.add(update);
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            long delay = Math.min(windowMillis, firstAt + maxDelayMillis - now);
+            if (updates.size() >= maxSize || delay <= 0) {
+                flush();
+            } else {
+                timer = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // 전송도 잠금 안에서 하여 묶음 간 순서를 유지합니다.
+        private synchronized void flush() {
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            if (!updates.isEmpty()) {
+                List<CodeMessage> flushed = updates;
+                updates = new ArrayList<>();
+                batchSize.record(flushed.size());
+                messagingTemplate.convertAndSend(
+                        String.format("/topic/room/%s/session/%s/code", roomId, sessionId),
+                        CodeUpdateBatch.builder().sessionId(sessionId).updates(flushed).build());
+            }
+            // 보낸 뒤에 묶음을 제거합니다. 이후 편집은 새 묶음에 모이므로 이 묶음보다 먼저 전송될 수 없습니다.
+            removed = true;
+            batches.remove(sessionId, this);
+        }
+    }
+}
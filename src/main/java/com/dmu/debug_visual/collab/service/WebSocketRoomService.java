@@ -1,21 +1,59 @@
 package com.dmu.debug_visual.collab.service;
 
+import com.dmu.debug_visual.collab.domain.document.SessionDocument;
+import com.dmu.debug_visual.collab.domain.entity.CodeSession;
+import com.dmu.debug_visual.collab.domain.entity.SessionParticipant.Permission;
+import com.dmu.debug_visual.collab.domain.repository.CodeSessionRepository;
 import com.dmu.debug_visual.collab.websocket.dto.WebSocketRoom;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class WebSocketRoomService {
 
+    private final CodeSessionRepository codeSessionRepository;
+
     // key: roomId, value: WebSocketRoom (방의 기본 정보)
     private final Map<String, WebSocketRoom> activeRooms = new ConcurrentHashMap<>();
 
     // key: sessionId, value: Set of userIds
     private final Map<String, Set<String>> sessionParticipants = new ConcurrentHashMap<>();
 
+    // key: sessionId, value: 세션 기준 문서 (현재 코드, 버전, 마지막 편집 정보)
+    // 활성 세션의 문서는 메모리가 기준이며, 참여자가 모두 나가면 CodeSession 에 저장한 뒤 메모리에서 내립니다.
+    // 참여자가 남아 있는 동안에도 주기적으로, 그리고 서버 종료 시 저장합니다.
+    private final Map<String, SessionDocument> sessionDocuments = new ConcurrentHashMap<>();
+
+    // 기준 문서: 변환(OT)을 위해 보관할 최근 연산 수 / 최대 길이
+    @Value("${collab.document.max-history:500}")
+    private int documentMaxHistory;
+
+    @Value("${collab.document.max-length:1000000}")
+    private int documentMaxLength;
+
+    // 참여자가 없는 문서를 메모리에서 내리기까지의 유휴 시간 (퇴장 이벤트를 놓친 경우 대비)
+    @Value("${collab.document.idle-evict-ms:600000}")
+    private long documentIdleEvictMillis;
+
+    // key: sessionId, value: (userId, 세션 권한) 목록
+    // 활성 세션의 권한은 이 표가 기준이며, DB 는 영구 저장용입니다. (코드 수정 메시지마다 DB 를 조회하지 않기 위함)
+    private final Map<String, Map<String, Permission>> sessionPermissions = new ConcurrentHashMap<>();
+
+    // 권한 변경(부여, 회수, 강퇴)마다 증가하는 버전. 권한 변경은 드물기 때문에 모든 세션이 하나의 버전을 함께 사용합니다.
+    private final AtomicLong sessionPermissionVersion = new AtomicLong();
+
     // --- 방(Room) 관련 메소드 ---
 
     public WebSocketRoom activateRoom(String roomId, String ownerId) {
@@ -63,9 +101,109 @@ public class WebSocketRoomService {
      * @param userId 나가는 사용자 ID
      */
     public void removeSessionParticipant(String sessionId, String userId) {
-        if (sessionParticipants.containsKey(sessionId)) {
-            sessionParticipants.get(sessionId).remove(userId);
+        // 비어 있는 참여자 목록도 지워, 구독했다 나간 세션 ID 가 계속 쌓이지 않게 합니다.
+        sessionParticipants.computeIfPresent(sessionId, (key, userIds) -> {
+            userIds.remove(userId);
+            return userIds.isEmpty() ? null : userIds;
+        });
+        // 아무도 남지 않은 세션의 권한 표는 메모리에서 제거합니다. (다시 활성화되면 DB 에서 읽어옴)
+        // 문서는 저장이 필요하므로 evictSessionDocument 에서 따로 내립니다.
+        if (isSessionEmpty(sessionId)) {
+            sessionPermissions.remove(sessionId);
+        }
+    }
+
+    /**
+     * 세션 기준 문서를 반환합니다. 메모리에 없으면 저장된 문서를 불러오고, 저장된 문서도 없으면 빈 문서를 만듭니다.
+     */
+    public SessionDocument getOrCreateSessionDocument(String sessionId) {
+        SessionDocument document = sessionDocuments.get(sessionId);
+        if (document != null) {
+            return document;
         }
+        // DB 조회는 맵 잠금 밖에서 하고, 동시에 불러온 경우 먼저 등록된 문서를 사용합니다.
+        SessionDocument restored = codeSessionRepository.findBySessionId(sessionId)
+                .map(session -> new SessionDocument(documentMaxHistory, documentMaxLength,
+                        session.getContent() != null ? session.getContent() : "", session.getContentVersion(),
+                        session.getLastEditedBy(), session.getLastEditedAt()))
+                .orElseGet(() -> new SessionDocument(documentMaxHistory, documentMaxLength));
+        SessionDocument existing = sessionDocuments.putIfAbsent(sessionId, restored);
+        return existing != null ? existing : restored;
+    }
+
+    /**
+     * 세션 기준 문서의 현재 코드를 반환합니다. 문서가 비어 있으면 null 입니다.
+     */
+    public String getSessionCode(String sessionId) {
+        String content = getOrCreateSessionDocument(sessionId).getContent();
+        return content.isEmpty() ? null : content;
+    }
+
+    /**
+     * 참여자가 없는 세션의 문서를 CodeSession 에 저장하고 메모리에서 내립니다.
+     * 저장하는 동안 편집이 있었거나 참여자가 다시 들어왔으면 내리지 않습니다.
+     * @param sessionId 비활성화된 세션 ID
+     */
+    public void evictSessionDocument(String sessionId) {
+        SessionDocument document = sessionDocuments.get(sessionId);
+        if (document == null || !isSessionEmpty(sessionId)) {
+            return;
+        }
+        SessionDocument.Snapshot snapshot = saveDocument(sessionId, document);
+        boolean[] evicted = {false};
+        sessionDocuments.computeIfPresent(sessionId, (key, current) -> {
+            if (current == document && current.getVersion() == snapshot.version() && isSessionEmpty(sessionId)) {
+                evicted[0] = true;
+                return null;
+            }
+            return current;
+        });
+        if (evicted[0]) {
+            log.info("Session {} document saved (version {}) and evicted from memory.", sessionId, snapshot.version());
+        }
+    }
+
+    /**
+     * 참여자가 없고 오래 사용되지 않은 문서를 저장하고 메모리에서 내립니다.
+     */
+    @Scheduled(fixedDelayString = "${collab.document.evict-interval-ms:60000}")
+    public void evictIdleDocuments() {
+        long now = System.currentTimeMillis();
+        sessionDocuments.forEach((sessionId, document) -> {
+            if (isSessionEmpty(sessionId) && now - document.getLastActivityMillis() >= documentIdleEvictMillis) {
+                try {
+                    evictSessionDocument(sessionId);
+                } catch (Exception e) {
+                    log.error("Failed to evict session document {}: {}", sessionId, e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * 마지막 저장 이후 편집된 문서를 CodeSession 에 저장합니다. (참여자가 남아 있는 세션 포함)
+     */
+    @Scheduled(fixedDelayString = "${collab.document.checkpoint-interval-ms:30000}")
+    public void checkpointDocuments() {
+        sessionDocuments.forEach((sessionId, document) -> {
+            if (!document.hasUnsavedChanges()) {
+                return;
+            }
+            try {
+                saveDocument(sessionId, document);
+            } catch (Exception e) {
+                log.error("Failed to checkpoint session document {}: {}", sessionId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 서버 종료 시 저장되지 않은 편집을 모두 저장합니다.
+     */
+    @PreDestroy
+    public void flushDocuments() {
+        log.info("Saving {} session documents before shutdown.", sessionDocuments.size());
+        checkpointDocuments();
     }
 
     /**
@@ -78,8 +216,94 @@ public class WebSocketRoomService {
         return !sessionParticipants.containsKey(sessionId) || sessionParticipants.get(sessionId).isEmpty();
     }
 
+    // --- 세션 권한(Session Permission) 관련 메소드 ---
+
+    public boolean isSessionPermissionLoaded(String sessionId) {
+        return sessionPermissions.containsKey(sessionId);
+    }
+
+    /**
+     * 권한 변경 버전을 반환합니다. DB 에서 권한 표를 읽기 전에 받아 두었다가 loadSessionPermissions 에 넘깁니다.
+     */
+    public long getSessionPermissionVersion() {
+        return sessionPermissionVersion.get();
+    }
+
+    /**
+     * DB 에서 읽은 세션 권한 표를 메모리에 올립니다. 이미 올라가 있으면 기존 표를 유지합니다.
+     * 실시간 참여자가 없는 세션은 올리지 않습니다. (임의의 sessionId 로 표가 늘어나지 않도록)
+     * @param version     DB 를 읽기 전에 받은 권한 변경 버전
+     * @param permissions key: userId, value: 세션 권한
+     * @return DB 를 읽는 동안 권한이 변경되어 올리지 못했으면 false (다시 읽어야 함)
+     */
+    public boolean loadSessionPermissions(String sessionId, long version, Map<String, Permission> permissions) {
+        boolean[] stale = {false};
+        sessionPermissions.compute(sessionId, (key, existing) -> {
+            if (existing != null || isSessionEmpty(sessionId)) {
+                return existing;
+            }
+            // 읽는 동안 커밋된 변경은 표가 없어 반영되지 못했으므로, 읽은 표를 버립니다.
+            if (sessionPermissionVersion.get() != version) {
+                stale[0] = true;
+                return null;
+            }
+            return new ConcurrentHashMap<>(permissions);
+        });
+        return !stale[0];
+    }
+
+    /**
+     * 메모리의 세션 권한을 반환합니다. 세션 참여자가 아니거나 권한 표가 올라가 있지 않으면 null 입니다.
+     */
+    public Permission getSessionPermission(String sessionId, String userId) {
+        Map<String, Permission> table = sessionPermissions.get(sessionId);
+        return table != null ? table.get(userId) : null;
+    }
+
+    /**
+     * 메모리에 올라가 있는 세션의 권한을 변경합니다. (아직 올라가지 않은 세션은 활성화될 때 DB 에서 읽음)
+     * 표가 없어도 변경 버전을 올려, 동시에 DB 를 읽던 표가 이 변경을 놓친 채 올라가지 않게 합니다.
+     */
+    public void updateSessionPermission(String sessionId, String userId, Permission permission) {
+        changeSessionPermissions(sessionId, table -> table.put(userId, permission));
+    }
+
+    /**
+     * 메모리에 올라가 있는 세션의 권한 표에서 사용자를 제거합니다. (강퇴)
+     */
+    public void removeSessionPermission(String sessionId, String userId) {
+        changeSessionPermissions(sessionId, table -> table.remove(userId));
+    }
+
     public Set<String> getActiveParticipants(String roomId) {
      WebSocketRoom activeRoom = findActiveRoomById(roomId);
      return (activeRoom != null) ? activeRoom.getParticipants().keySet() : null;
     }
+
+    // Private Helper Methods
+
+    // 문서의 현재 상태를 저장합니다. 더 새로운 버전이 이미 저장되어 있으면 덮어쓰지 않습니다. (주기 저장과 내리기가 겹친 경우)
+    private SessionDocument.Snapshot saveDocument(String sessionId, SessionDocument document) {
+        SessionDocument.Snapshot snapshot = document.snapshot();
+        codeSessionRepository.findBySessionId(sessionId).ifPresent(session -> {
+            if (session.getContentVersion() > snapshot.version()) {
+                return;
+            }
+            session.updateDocument(snapshot.content(), snapshot.version(), snapshot.lastEditedBy(), snapshot.lastEditedAt());
+            codeSessionRepository.save(session);
+        });
+        document.markSaved(snapshot.version());
+        return snapshot;
+    }
+
+    // 버전 증가와 표 변경을 같은 키 잠금 안에서 수행하여, loadSessionPermissions 의 버전 확인과 순서가 엇갈리지 않게 합니다.
+    private void changeSessionPermissions(String sessionId, Consumer<Map<String, Permission>> change) {
+        sessionPermissions.compute(sessionId, (key, table) -> {
+            sessionPermissionVersion.incrementAndGet();
+            if (table != null) {
+                change.accept(table);
+            }
+            return table;
+        });
+    }
 }
\ No newline at end of file
@@ -1,14 +1,21 @@
 package com.dmu.debug_visual.collab.websocket;
 
 import com.dmu.debug_visual.collab.service.RoomService;
-import com.dmu.debug_visual.user.UserRepository;
+import com.dmu.debug_visual.collab.service.SessionEditService;
+import com.dmu.debug_visual.collab.service.SessionExecutionService;
+import com.dmu.debug_visual.collab.websocket.dto.DocumentSnapshot;
+import com.dmu.debug_visual.collab.websocket.dto.SessionRunRequest;
+import com.dmu.debug_visual.security.CustomUserDetails;
 import com.dmu.debug_visual.collab.websocket.dto.CodeMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
+
 /**
  * 실시간 협업 관련 WebSocket 메시지만을 처리하는 컨트롤러
  */
@@ -17,33 +24,100 @@ import org.springframework.stereotype.Controller;
 public class CodeCollabController {
 
     private final RoomService roomService;
-    private final UserRepository userRepository;
-    private final SimpMessageSendingOperations messagingTemplate;
+    private final SessionEditService sessionEditService;
+    private final SessionExecutionService sessionExecutionService;
 
     /**
      * 특정 코드 세션 내에서 발생하는 코드 수정 이벤트를 처리합니다.
      * 클라이언트는 이 주소('/app/room/{roomId}/session/{sessionId}/code-update')로 CodeMessage를 발행(publish)합니다.
-     * 서버는 해당 세션을 구독 중인 모든 클라이언트에게 변경된 코드를 브로드캐스팅합니다.
+     * 서버는 편집 연산을 세션 기준 문서에 적용한 뒤, 해당 세션을 구독 중인 모든 클라이언트에게 적용된 연산을 브로드캐스팅합니다.
+     * 짧은 시간 안의 편집들은 CodeUpdateBatch 하나로 묶여 전달됩니다.
+     * 보낸 사람 정보(senderId, senderName)는 클라이언트가 보낸 값이 아닌, 연결 시 인증된 사용자로 채웁니다.
      *
      * @param roomId    현재 방의 고유 ID
      * @param sessionId 현재 코드 세션의 고유 ID
-     * @param message   전송된 코드 정보 (senderId, content 등)
+     * @param message   전송된 편집 정보 (baseVersion, operation 등)
+     * @param principal 웹소켓 연결 시 인증된 사용자
      */
     @MessageMapping("/room/{roomId}/session/{sessionId}/code-update")
     public void handleCodeUpdate(
             @DestinationVariable String roomId,
             @DestinationVariable String sessionId,
-            CodeMessage message) {
+            CodeMessage message,
+            Principal principal) {
+
+        CustomUserDetails sender = senderOf(principal);
+        if (sender == null) {
+            return;
+        }
 
         // 세션 단위로 권한을 검사합니다.
-        if (roomService.hasWritePermissionInSession(sessionId, message.getSenderId())) {
-            // 사용자 이름을 찾아서 메시지에 추가
-            userRepository.findByUserId(message.getSenderId()).ifPresent(user -> {
-                message.setSenderName(user.getName());
-            });
-
-            String topic = String.format("/topic/room/%s/session/%s/code", roomId, sessionId);
-            messagingTemplate.convertAndSend(topic, message);
+        if (roomService.hasWritePermissionInSession(sessionId, sender.getUsername())) {
+            // 보낸 사람은 연결 시 한 번 조회해 둔 사용자 정보로 채웁니다. (메시지마다 DB 조회 없음)
+            sessionEditService.applyEdit(roomId, sessionId, sender, message);
+        }
+    }
+
+    /**
+     * 세션의 현재 코드를 한 번 실행하고, 결과를 세션 참여자 모두에게 브로드캐스팅합니다.
+     * 클라이언트는 이 주소('/app/room/{roomId}/session/{sessionId}/run')로 SessionRunRequest를 발행합니다.
+     * 실행 상태(RUN_STARTED, RUN_COMPLETED, RUN_REJECTED)는 '/topic/room/{roomId}/session/{sessionId}'로 전달됩니다.
+     *
+     * @param roomId    현재 방의 고유 ID
+     * @param sessionId 현재 코드 세션의 고유 ID
+     * @param request   실행 언어와 입력값
+     * @param principal 웹소켓 연결 시 인증된 사용자
+     */
+    @MessageMapping("/room/{roomId}/session/{sessionId}/run")
+    public void handleSessionRun(
+            @DestinationVariable String roomId,
+            @DestinationVariable String sessionId,
+            SessionRunRequest request,
+            Principal principal) {
+
+        CustomUserDetails sender = senderOf(principal);
+        if (sender == null) {
+            return;
+        }
+        // 세션 참여자라면 읽기 전용 권한이어도 실행할 수 있습니다.
+        if (roomService.isSessionParticipant(sessionId, sender.getUsername())) {
+            sessionExecutionService.runForSession(roomId, sessionId, sender.getUser(), request);
+        }
+    }
+
+    /**
+     * 세션 기준 문서 전체를 구독한 클라이언트에게 바로 돌려줍니다. (브로커를 거치지 않는 1회 응답)
+     * 세션 코드 채널 구독 시 스냅샷이 자동으로 전송되지만, 받은 편집 버전이 건너뛰는 등 다시 맞춰야 할 때
+     * 클라이언트는 이 주소('/app/room/{roomId}/session/{sessionId}/document')를 구독하여 최신 문서를 받습니다.
+     *
+     * @param roomId    현재 방의 고유 ID
+     * @param sessionId 현재 코드 세션의 고유 ID
+     * @param principal 웹소켓 연결 시 인증된 사용자
+     * @return 문서 스냅샷 (세션 참여자가 아니면 응답하지 않음)
+     */
+    @SubscribeMapping("/room/{roomId}/session/{sessionId}/document")
+    public DocumentSnapshot subscribeDocument(
+            @DestinationVariable String roomId,
+            @DestinationVariable String sessionId,
+            Principal principal) {
+
+        CustomUserDetails sender = senderOf(principal);
+        if (sender == null || !roomService.isSessionParticipant(sessionId, sender.getUsername())) {
+            return null;
+        }
+        return sessionEditService.snapshotOf(sessionId);
+    }
+
+    // Private Helper Methods
+
+    /**
+     * StompChannelInterceptor 가 CONNECT 시 등록한 인증 정보에서 사용자를 꺼냅니다. 인증되지 않은 연결이면 null 입니다.
+     */
+    private CustomUserDetails senderOf(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails;
         }
+        return null;
     }
 }
@@ -1,12 +1,25 @@
 package com.dmu.debug_visual.collab.websocket.dto;
 
+import com.dmu.debug_visual.collab.domain.document.TextOperation;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * 코드 편집 메시지
+ * - 보낼 때: baseVersion(편집 기준 문서 버전) + operation(편집 연산), 필요하면 clientOpId
+ *   (operation 없이 content 만 보내면 문서 전체를 그 내용으로 바꿉니다. 이전 방식 호환용)
+ * - 받을 때: 서버가 적용한 version + operation (변환된 연산), 보낸 사람 정보와 clientOpId
+ */
 @Getter
 @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CodeMessage {
-    private String senderId; // 메시지를 보낸 사람의 ID
-    private String senderName;
-    private String content;  // 전송할 코드 내용
-}
\ No newline at end of file
+    private String senderId; // 메시지를 보낸 사람의 ID (서버가 인증된 사용자로 채움)
+    private String senderName; // 메시지를 보낸 사람의 이름 (서버가 인증된 사용자로 채움)
+    private String content;  // 문서 전체 내용 (이전 방식, 보낼 때만 사용)
+    private Long baseVersion; // 편집 연산을 만든 기준 문서 버전
+    private Long version;     // 서버가 연산을 적용한 뒤의 문서 버전
+    private TextOperation operation; // 편집 연산 (ot.js 형식)
+    private String clientOpId; // 보낸 클라이언트가 자신의 연산이 적용되었음을 확인하기 위한 ID
+}
@@ -0,0 +1,17 @@
+package com.dmu.debug_visual.collab.websocket.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 짧은 시간 안에 적용된 편집들을 묶어 한 번에 보내는 메시지 ('/topic/room/{roomId}/session/{sessionId}/code')
+ * updates 는 버전 순서이며, 클라이언트는 이미 반영한 버전(스냅샷 버전 이하)의 편집은 건너뜁니다.
+ */
+@Getter
+@Builder
+public class CodeUpdateBatch {
+    private String sessionId;
+    private List<CodeMessage> updates;
+}
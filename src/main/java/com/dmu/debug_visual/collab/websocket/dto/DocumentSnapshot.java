@@ -0,0 +1,21 @@
+package com.dmu.debug_visual.collab.websocket.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 세션 기준 문서 전체
+ * 세션 코드 채널을 구독하거나, 편집 연산을 이어 갈 수 없을 때 다시 맞추기 위해 전송합니다.
+ * 개인 채널 '/user/queue/room/{roomId}/session/{sessionId}/document' 로 전달됩니다.
+ */
+@Getter
+@Builder
+public class DocumentSnapshot {
+    private String sessionId;
+    private long version;   // 이 내용에 적용된 마지막 연산의 버전 (이후 편집의 baseVersion)
+    private String content; // 문서 전체
+    private String lastEditedBy; // 마지막으로 편집한 사용자 ID (편집 기록이 없으면 null)
+    private LocalDateTime lastEditedAt;
+}
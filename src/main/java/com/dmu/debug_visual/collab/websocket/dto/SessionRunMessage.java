@@ -0,0 +1,27 @@
+package com.dmu.debug_visual.collab.websocket.dto;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 세션 공동 실행 상태를 세션 참여자 모두에게 알리는 메시지 (/topic/room/{roomId}/session/{sessionId})
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SessionRunMessage {
+
+    public static final String STARTED = "RUN_STARTED";
+    public static final String COMPLETED = "RUN_COMPLETED";
+    public static final String REJECTED = "RUN_REJECTED";
+
+    private String type;            // RUN_STARTED, RUN_COMPLETED, RUN_REJECTED
+    private String runId;           // 같은 실행의 시작/완료 메시지를 묶는 ID
+    private String triggeredById;   // 실행을 요청한 사용자 ID
+    private String triggeredByName;
+    private String lang;
+    private CodeRunResponseDTO result; // RUN_COMPLETED 일 때 실행 결과
+    private String message;            // RUN_REJECTED 일 때 사유
+}
@@ -0,0 +1,14 @@
+package com.dmu.debug_visual.collab.websocket.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 세션 공동 실행 요청. 실행할 코드는 서버가 보관 중인 세션의 현재 코드를 사용합니다.
+ */
+@Getter
+@Setter
+public class SessionRunRequest {
+    private String lang;  // 실행 언어 (python, java, c)
+    private String input; // 표준 입력
+}
@@ -0,0 +1,147 @@
+package com.dmu.debug_visual.config;
+
+import com.dmu.debug_visual.code.BackendCircuitBreaker;
+import com.dmu.debug_visual.code.CompilerBackend;
+import com.dmu.debug_visual.code.CompilerBackendPool;
+import com.dmu.debug_visual.code.CompilerRoute;
+import com.dmu.debug_visual.code.CompilerRouter;
+import com.dmu.debug_visual.code.ExecutionAdmissionController;
+import com.dmu.debug_visual.code.HedgingPolicy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일러(Flask) 서버와 통신하는 WebClient 설정
+ * 요청마다 스레드를 점유하지 않도록 Netty 이벤트 루프 위에서 동작하며,
+ * 언어별로 주소, 커넥션 풀, 타임아웃, 동시 실행 한도를 따로 구성하고,
+ * 한 언어에 여러 컴파일러 서버를 두면 서버마다 커넥션 풀과 서킷 브레이커를 따로 둡니다.
+ */
+@Configuration
+@EnableConfigurationProperties(CompilerProperties.class)
+public class CompilerClientConfig {
+
+    private static final String DEFAULT_ROUTE = "default";
+
+    @Bean
+    public CompilerRouter compilerRouter(CompilerProperties properties, MeterRegistry meterRegistry) {
+        Map<String, CompilerRoute> routes = new LinkedHashMap<>();
+        properties.getRoutes().forEach((lang, route) ->
+                routes.put(lang.toLowerCase(), createRoute(lang.toLowerCase(), route, properties, meterRegistry)));
+
+        CompilerRoute defaultRoute = createRoute(DEFAULT_ROUTE, new CompilerProperties.Route(), properties, meterRegistry);
+        return new CompilerRouter(routes, defaultRoute);
+    }
+
+    // Private Helper Methods
+
+    private CompilerRoute createRoute(String name, CompilerProperties.Route route,
+                                      CompilerProperties defaults, MeterRegistry meterRegistry) {
+        List<String> runUrls = !route.getUrls().isEmpty() ? route.getUrls()
+                : List.of(route.getUrl() != null ? route.getUrl() : defaults.getPython().getUrl());
+
+        List<CompilerBackend> backends = new ArrayList<>();
+        for (int i = 0; i < runUrls.size(); i++) {
+            backends.add(createBackend(name + "-" + i, runUrls.get(i), route, defaults, meterRegistry));
+        }
+
+        CompilerProperties.Admission admission = defaults.getAdmission();
+        ExecutionAdmissionController admissionController = new ExecutionAdmissionController(name,
+                valueOrDefault(route.getMaxConcurrency(), admission.getMaxConcurrency()),
+                valueOrDefault(route.getMaxQueue(), admission.getMaxQueue()),
+                valueOrDefault(route.getMaxQueuedPerUser(), admission.getMaxQueuedPerUser()),
+                Duration.ofMillis(valueOrDefault(route.getQueueTimeoutMs(), admission.getQueueTimeoutMs())),
+                meterRegistry);
+
+        CompilerProperties.Outlier outlier = defaults.getOutlier();
+        CompilerProperties.Hedging hedging = defaults.getHedging();
+        HedgingPolicy hedgingPolicy = hedging.isEnabled()
+                ? new HedgingPolicy(name, hedging.getPercentile(), hedging.getBudgetPercent(),
+                        hedging.getSampleSize(), hedging.getMinSamples(), hedging.getMinDelayMs(),
+                        hedging.getMaxRunMs(), meterRegistry)
+                : null;
+
+        // 추가 요청(hedge)도 이 경로의 동시 실행 한도 안에서만 보냅니다.
+        CompilerBackendPool backendPool = new CompilerBackendPool(name, backends,
+                outlier.getConsecutiveFailures(),
+                outlier.getBaseEjectionMs(),
+                outlier.getMaxEjectionPercent(),
+                hedgingPolicy,
+                admissionController);
+
+        return CompilerRoute.builder()
+                .name(name)
+                .backendPool(backendPool)
+                .admissionController(admissionController)
+                .build();
+    }
+
+    private CompilerBackend createBackend(String poolName, String runUrl, CompilerProperties.Route route,
+                                          CompilerProperties defaults, MeterRegistry meterRegistry) {
+        long responseTimeoutMs = valueOrDefault(route.getResponseTimeoutMs(), defaults.getResponseTimeoutMs());
+
+        // 서버마다 커넥션 풀을 분리하여, 한 서버(또는 한 언어)가 멈춰도 다른 쪽 커넥션은 영향을 받지 않습니다.
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("compiler-" + poolName)
+                .maxConnections(valueOrDefault(route.getMaxInFlight(), defaults.getMaxInFlight()))
+                .pendingAcquireMaxCount(valueOrDefault(route.getPendingAcquireMax(), defaults.getPendingAcquireMax()))
+                .pendingAcquireTimeout(Duration.ofMillis(responseTimeoutMs))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, valueOrDefault(route.getConnectTimeoutMs(), defaults.getConnectTimeoutMs()))
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                // Accept-Encoding: gzip 을 보내고 압축된 응답은 자동으로 풉니다. (시각화 ast 가 큰 경우 전송량 감소)
+                .compress(true);
+
+        WebClient webClient = WebClient.builder()
+                .baseUrl(runUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // 이보다 큰 응답은 메모리에서 읽지 않고 ExecutionOutputStore 가 임시 파일로 받습니다.
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(defaults.getOutput().getInMemoryThresholdBytes()))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+
+        CompilerProperties.CircuitBreaker circuitBreaker = defaults.getCircuitBreaker();
+        CompilerBackend backend = new CompilerBackend(runUrl,
+                URI.create(runUrl).resolve(defaults.getHealthCheck().getPath()).toString(),
+                webClient,
+                new BackendCircuitBreaker(circuitBreaker.getWindowSize(),
+                        circuitBreaker.getMinimumCalls(),
+                        circuitBreaker.getFailureRatePercent(),
+                        circuitBreaker.getOpenDurationMs()));
+
+        Gauge.builder("code.execution.backend.outstanding", backend, CompilerBackend::getOutstandingCount)
+                .tag("backend", runUrl)
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Gauge.builder("code.execution.backend.available", backend, b -> b.isAvailable(System.currentTimeMillis()) ? 1 : 0)
+                .tag("backend", runUrl)
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        return backend;
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static long valueOrDefault(Long value, long defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
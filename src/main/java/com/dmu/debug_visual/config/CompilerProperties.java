@@ -0,0 +1,173 @@
+package com.dmu.debug_visual.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컴파일러 서버 연결 설정 (compiler.*)
+ * 최상위 값은 모든 언어의 기본값이며, compiler.routes.{언어}.* 로 언어별 값을 덮어쓸 수 있습니다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "compiler")
+public class CompilerProperties {
+
+    // 언어별 설정이 없을 때 사용하는 기본 컴파일러 주소 (compiler.python.url)
+    private Python python = new Python();
+
+    // 커넥션 풀 기본값
+    private int maxInFlight = 200;
+    private int pendingAcquireMax = 1000;
+    private int connectTimeoutMs = 3000;
+    private long responseTimeoutMs = 60000;
+
+    // 입장 제어 기본값
+    private Admission admission = new Admission();
+
+    // 컴파일러 서버 상태 점검 / 이상 서버 제외 / 서킷 브레이커
+    private HealthCheck healthCheck = new HealthCheck();
+    private Outlier outlier = new Outlier();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    // 느린 서버 대비 추가 요청 (hedged request)
+    private Hedging hedging = new Hedging();
+
+    // key: 언어 (python, java, c ...), value: 해당 언어 전용 설정
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    // 컴파일러 응답(프로그램 출력) 크기 제한
+    private Output output = new Output();
+
+    // 사용자/IP 별 실행 요청 속도 제한
+    private RateLimit rateLimit = new RateLimit();
+
+    // Java 코드를 컴파일러 서버 대신 이 서버에서 직접 컴파일/실행
+    private LocalJava localJava = new LocalJava();
+
+    @Getter
+    @Setter
+    public static class Python {
+        private String url;
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+        private int maxConcurrency = 32;
+        private int maxQueue = 200;
+        private int maxQueuedPerUser = 3;
+        private long queueTimeoutMs = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class HealthCheck {
+        private boolean enabled = true;
+        private String path = "/health";   // 컴파일러 /run 주소 기준으로 조회할 경로
+        private long intervalMs = 10000;
+        private long timeoutMs = 2000;
+    }
+
+    @Getter
+    @Setter
+    public static class Outlier {
+        private int consecutiveFailures = 5;  // 연속 실패 횟수가 이 값에 도달하면 일시 제외
+        private long baseEjectionMs = 30000;  // 제외 시간 (제외될 때마다 배수로 증가)
+        private int maxEjectionPercent = 50;  // 동시에 제외할 수 있는 서버 비율
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private int windowSize = 20;            // 최근 호출 몇 건으로 실패율을 계산할지
+        private int minimumCalls = 10;          // 실패율을 판단하기 위한 최소 호출 수
+        private int failureRatePercent = 50;    // 이 실패율 이상이면 OPEN
+        private long openDurationMs = 30000;    // OPEN 유지 시간 (이후 HALF_OPEN 에서 1건 시험 호출)
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 95;         // 최근 응답 시간의 이 백분위수만큼 기다린 뒤 추가 요청
+        private double budgetPercent = 5;       // 전체 요청 대비 추가 요청 비율 상한
+        private int sampleSize = 200;           // 백분위수 계산에 사용할 최근 응답 수
+        private int minSamples = 20;            // 표본이 이만큼 모이기 전에는 추가 요청을 보내지 않음
+        private long minDelayMs = 50;           // 추가 요청 전 최소 대기 시간
+        private long maxRunMs = 1000;           // 짧은 실행에만 적용: 대기 시간이 이보다 길면 보내지 않고, 추가 요청도 이 시간 안에 끝나지 않으면 끊음
+    }
+
+    @Getter
+    @Setter
+    public static class Output {
+        private int inMemoryThresholdBytes = 1048576;   // 이보다 큰 (또는 길이를 모르는) 응답은 임시 파일을 거쳐 읽음
+        private int maxInlineChars = 65536;             // 응답 본문에 담을 stdout/stderr 최대 길이
+        private long maxResponseBytes = 20000000;       // 임시 파일로 받을 응답 본문 최대 크기 (넘으면 실패 처리)
+        private long maxSpillChars = 16000000;          // 임시 파일에 보관할 최대 출력 길이
+        private long ttlMs = 600000;                    // 임시 파일 보관 시간
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        private boolean enabled = true;
+        private Limit anonymous = new Limit(20, 5);         // 비로그인 사용자 (IP 별)
+        private Map<String, Limit> roles = new LinkedHashMap<>(Map.of(  // key: User.Role 이름
+                "USER", new Limit(60, 10),
+                "ADMIN", new Limit(600, 50)));
+        private long idleEvictMs = 600000;                  // 이 시간 동안 요청이 없던 사용자 기록은 정리
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private double requestsPerMinute;   // 평균 허용 속도
+        private int burst;                  // 한꺼번에 허용할 최대 요청 수
+
+        public Limit() {
+        }
+
+        public Limit(double requestsPerMinute, int burst) {
+            this.requestsPerMinute = requestsPerMinute;
+            this.burst = burst;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class LocalJava {
+        private boolean enabled = false;
+        private int warmWorkers = 2;            // 미리 띄워 둘 실행용 JVM 프로세스 수
+        private long timeoutMs = 10000;         // 프로그램 실행 제한 시간
+        private int maxHeapMb = 128;            // 실행용 JVM 최대 힙
+        private int maxOutputChars = 1000000;   // stdout/stderr 각각의 최대 길이
+        private String javaCommand;             // 실행용 java 경로 (없으면 현재 JVM 의 java 사용)
+        private List<String> sandboxCommand = new ArrayList<>();  // 실행용 JVM 앞에 붙일 격리 명령 (nsjail, bwrap 등)
+        private boolean allowUnsandboxed = false;  // 격리 명령 없이 실행 허용 (신뢰할 수 있는 환경 전용)
+        private long maxFileBytes = 1048576;    // 실행용 프로세스가 쓸 수 있는 파일 하나의 최대 크기
+    }
+
+    /**
+     * 언어별 설정. 값이 없는 항목은 최상위 기본값을 따릅니다.
+     */
+    @Getter
+    @Setter
+    public static class Route {
+        private String url;
+        private List<String> urls = new ArrayList<>(); // 여러 컴파일러 서버로 분산할 때 사용 (url 보다 우선)
+        private Integer maxInFlight;
+        private Integer pendingAcquireMax;
+        private Integer connectTimeoutMs;
+        private Long responseTimeoutMs;
+        private Integer maxConcurrency;
+        private Integer maxQueue;
+        private Integer maxQueuedPerUser;
+        private Long queueTimeoutMs;
+    }
+}
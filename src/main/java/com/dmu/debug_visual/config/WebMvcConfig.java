@@ -0,0 +1,20 @@
+package com.dmu.debug_visual.config;
+
+import com.dmu.debug_visual.code.ExecutionRateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ExecutionRateLimitInterceptor executionRateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 코드 실행 요청에만 사용자/IP 별 속도 제한을 적용합니다.
+        registry.addInterceptor(executionRateLimitInterceptor).addPathPatterns("/api/code/**");
+    }
+}
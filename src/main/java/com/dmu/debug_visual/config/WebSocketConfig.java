@@ -1,34 +1,72 @@
 package com.dmu.debug_visual.config;
 
 import com.dmu.debug_visual.security.StompChannelInterceptor;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.TaskExecutorRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker // WebSocket 메시지 브로커 기능 활성화
-@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompChannelInterceptor stompChannelInterceptor;
+    private final boolean virtualThreads;
+    // 지정하지 않은 값(null)은 Spring 기본값을 그대로 사용
+    private final Integer inboundCorePoolSize;
+    private final Integer inboundMaxPoolSize;
+    private final Integer inboundQueueCapacity;
+
+    public WebSocketConfig(StompChannelInterceptor stompChannelInterceptor,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                           @Value("${websocket.inbound.core-pool-size:#{null}}") Integer inboundCorePoolSize,
+                           @Value("${websocket.inbound.max-pool-size:#{null}}") Integer inboundMaxPoolSize,
+                           @Value("${websocket.inbound.queue-capacity:#{null}}") Integer inboundQueueCapacity) {
+        this.stompChannelInterceptor = stompChannelInterceptor;
+        this.virtualThreads = virtualThreads;
+        this.inboundCorePoolSize = inboundCorePoolSize;
+        this.inboundMaxPoolSize = inboundMaxPoolSize;
+        this.inboundQueueCapacity = inboundQueueCapacity;
+    }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 클라이언트가 메시지를 구독할 때 사용할 prefix
         // "/topic/room"으로 시작하는 모든 주소를 구독 대상으로 설정
-        registry.enableSimpleBroker("/topic");
+        // "/queue"는 특정 사용자에게만 보내는 메시지(/user/queue/...)에 사용
+        registry.enableSimpleBroker("/topic", "/queue");
         // 서버(Controller)가 메시지를 수신할 때 사용할 prefix
         registry.setApplicationDestinationPrefixes("/app");
+        // 편집 연산은 버전 순서대로 도착해야 하므로, 클라이언트별 전송 순서를 발행 순서와 같게 유지합니다.
+        registry.setPreservePublishOrder(true);
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // 클라이언트가 메시지를 보내는 채널에 인터셉터를 등록합니다.
         registration.interceptors(stompChannelInterceptor);
+
+        // 수신 메시지 처리 중 DB 조회 등 블로킹 작업이 있으므로, 가상 스레드 모드에서는 메시지마다 가상 스레드를 사용합니다.
+        if (virtualThreads) {
+            registration.executor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        } else if (inboundCorePoolSize != null || inboundMaxPoolSize != null || inboundQueueCapacity != null) {
+            // 설정한 값만 바꾸고 나머지는 Spring 기본값을 유지합니다.
+            TaskExecutorRegistration executor = registration.taskExecutor();
+            if (inboundCorePoolSize != null) {
+                executor.corePoolSize(inboundCorePoolSize);
+            }
+            if (inboundMaxPoolSize != null) {
+                executor.maxPoolSize(inboundMaxPoolSize);
+            }
+            if (inboundQueueCapacity != null) {
+                executor.queueCapacity(inboundQueueCapacity);
+            }
+        }
     }
 
     @Override
@@ -37,4 +75,4 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // SockJS는 WebSocket을 지원하지 않는 브라우저를 위한 호환성 옵션입니다.
         registry.addEndpoint("/ws-collab").setAllowedOriginPatterns("*").withSockJS();
     }
-}
\ No newline at end of file
+}
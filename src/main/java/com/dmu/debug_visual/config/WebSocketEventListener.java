@@ -5,6 +5,7 @@ import com.dmu.debug_visual.collab.domain.entity.Room;
 import com.dmu.debug_visual.collab.domain.repository.CodeSessionRepository;
 import com.dmu.debug_visual.collab.domain.repository.RoomRepository;
 import com.dmu.debug_visual.collab.service.RoomService;
+import com.dmu.debug_visual.collab.service.SessionEditService;
 import com.dmu.debug_visual.collab.service.WebSocketRoomService;
 import com.dmu.debug_visual.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class WebSocketEventListener {
 
     private final WebSocketRoomService webSocketRoomService;
     private final RoomService roomService;
+    private final SessionEditService sessionEditService;
     private final RoomRepository roomRepository;
     private final CodeSessionRepository codeSessionRepository;
 
@@ -67,6 +69,12 @@ public class WebSocketEventListener {
                     String sessionId = destination.split("/")[5];
                     sessionAttributes.put("sessionId", sessionId);
                     webSocketRoomService.addSessionParticipant(sessionId, userId);
+                    // 세션이 활성화되면 권한 표를 한 번 메모리에 올립니다. (이후 코드 수정 시 권한 확인은 메모리에서)
+                    roomService.loadSessionPermissions(sessionId);
+                    // 코드 채널을 구독하면 현재 문서를 바로 보내, 다음 편집을 기다리지 않고 화면에 표시하게 합니다.
+                    if (destination.endsWith("/code") && roomService.isSessionParticipant(sessionId, userId)) {
+                        sessionEditService.sendSnapshot(roomId, sessionId, userId);
+                    }
                     log.info("User {} joined session {}", userId, sessionId);
                 }
 
@@ -106,6 +114,8 @@ public class WebSocketEventListener {
                         session.updateStatus(CodeSession.SessionStatus.INACTIVE);
                         log.info("Session {} status updated to INACTIVE in DB.", sessionId);
                     });
+                    // 세션 문서를 저장하고 메모리에서 내립니다.
+                    webSocketRoomService.evictSessionDocument(sessionId);
                 }
 
                 // 3. 최종적으로 변경된 상태를 모두에게 방송
@@ -0,0 +1,105 @@
+package com.dmu.debug_visual.code;
+
+import org.junit.jupiter.api.Test;
+
+import static com.dmu.debug_visual.code.BackendCircuitBreaker.State.CLOSED;
+import static com.dmu.debug_visual.code.BackendCircuitBreaker.State.HALF_OPEN;
+import static com.dmu.debug_visual.code.BackendCircuitBreaker.State.OPEN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackendCircuitBreakerTest {
+
+    // 최근 4건, 최소 4건, 실패율 50% 이상이면 OPEN, 1초간 유지
+    private final BackendCircuitBreaker breaker = new BackendCircuitBreaker(4, 4, 50, 1000);
+
+    @Test
+    void staysClosedUntilMinimumCallsAreRecorded() {
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        assertThat(breaker.tryAcquire(0)).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure(0);
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+        assertThat(breaker.isCallPermitted(999)).isFalse();
+        assertThat(breaker.tryAcquire(999)).isFalse();
+    }
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        breaker.onFailure(0);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        // 가장 오래된 실패가 창에서 밀려나 실패율 25% → 50% 를 넘지 않음
+        breaker.onSuccess();
+        breaker.onFailure(0);
+
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+    }
+
+    @Test
+    void allowsSingleProbeAfterOpenDuration() {
+        open();
+
+        assertThat(breaker.isCallPermitted(1000)).isTrue();
+        assertThat(breaker.tryAcquire(1000)).isTrue();
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+
+        // 시험 호출이 끝나기 전에는 다른 호출을 허용하지 않습니다.
+        assertThat(breaker.isCallPermitted(1001)).isFalse();
+        assertThat(breaker.tryAcquire(1001)).isFalse();
+    }
+
+    @Test
+    void successfulProbeClosesTheCircuit() {
+        open();
+        breaker.tryAcquire(1000);
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+        // 창이 비워졌으므로 실패 한 건으로 다시 열리지 않습니다.
+        breaker.onFailure(1001);
+        assertThat(breaker.getState()).isEqualTo(CLOSED);
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() {
+        open();
+        breaker.tryAcquire(1000);
+
+        breaker.onFailure(1500);
+
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+        assertThat(breaker.tryAcquire(2499)).isFalse();
+        assertThat(breaker.tryAcquire(2500)).isTrue();
+    }
+
+    @Test
+    void cancelledProbeLetsTheNextCallProbe() {
+        open();
+        breaker.tryAcquire(1000);
+
+        breaker.onCancel();
+
+        assertThat(breaker.getState()).isEqualTo(HALF_OPEN);
+        assertThat(breaker.tryAcquire(1001)).isTrue();
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(0);
+        }
+        assertThat(breaker.getState()).isEqualTo(OPEN);
+    }
+}
@@ -0,0 +1,33 @@
+package com.dmu.debug_visual.code;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeExecutionCacheTest {
+
+    @Test
+    void lineEndingsDoNotChangeTheKey() {
+        String lf = CodeExecutionCache.keyOf(ExecutionType.RUN, "print(1)\nprint(2)\n", "", "python");
+        String crlf = CodeExecutionCache.keyOf(ExecutionType.RUN, "print(1)\r\nprint(2)\r\n", "", "python");
+
+        assertThat(crlf).isEqualTo(lf);
+    }
+
+    @Test
+    void trailingSpacesInsideStringLiteralsChangeTheKey() {
+        // 여러 줄 문자열의 줄 끝 공백은 출력에 그대로 나타나므로 다른 프로그램입니다.
+        String withSpaces = CodeExecutionCache.keyOf(ExecutionType.RUN, "print(\"\"\"a   \nb\"\"\")", "", "python");
+        String withoutSpaces = CodeExecutionCache.keyOf(ExecutionType.RUN, "print(\"\"\"a\nb\"\"\")", "", "python");
+
+        assertThat(withSpaces).isNotEqualTo(withoutSpaces);
+    }
+
+    @Test
+    void trailingNewlineChangesTheKey() {
+        String a = CodeExecutionCache.keyOf(ExecutionType.RUN, "print(1)", "", "python");
+        String b = CodeExecutionCache.keyOf(ExecutionType.RUN, "print(1)\n", "", "python");
+
+        assertThat(a).isNotEqualTo(b);
+    }
+}
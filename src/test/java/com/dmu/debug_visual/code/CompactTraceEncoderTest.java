@@ -0,0 +1,161 @@
+package com.dmu.debug_visual.code;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 압축 형식을 클라이언트와 같은 방식(JSON Merge Patch 적용 → 필드 이름 복원)으로 되돌려 원래 trace 와 같은지 확인합니다.
+ */
+class CompactTraceEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CompactTraceEncoder encoder = new CompactTraceEncoder(objectMapper);
+
+    @Test
+    void stepsWithMetaRoundTrip() throws Exception {
+        String ast = """
+                {"language": "python", "steps": [
+                  {"line": 1, "vars": {"x": 1}, "stack": ["main"]},
+                  {"line": 2, "vars": {"x": 1, "y": 2}, "stack": ["main", "f"]},
+                  {"line": 3, "vars": {"y": 3}, "stack": ["main"], "out": "hi"},
+                  {"line": 3, "vars": {"y": 3}, "stack": ["main"], "out": "hi"},
+                  {"line": 4, "vars": {"y": 3}, "stack": ["main"]}
+                ]}""";
+
+        JsonNode encoded = encoder.encode(ast);
+
+        assertThat(decode(encoded)).isEqualTo(objectMapper.readTree(ast));
+        assertThat(encoded.get("keys")).hasSize(7);
+        assertThat(kinds(encoded)).containsExactly("f", "d", "d", "d", "d");
+        // 바뀐 것이 없는 단계는 빈 패치가 됩니다.
+        assertThat(encoded.get("steps").get(3).get("d")).isEmpty();
+    }
+
+    @Test
+    void stepWithNullValueIsSentInFull() throws Exception {
+        String ast = """
+                {"language": "java", "steps": [
+                  {"line": 1, "vars": {"x": 1, "y": 2}},
+                  {"line": 2, "vars": {"x": null, "y": 2}},
+                  {"line": 3, "vars": {"y": 2}},
+                  {"line": 4, "vars": {}, "ret": null}
+                ]}""";
+
+        JsonNode encoded = encoder.encode(ast);
+
+        assertThat(decode(encoded)).isEqualTo(objectMapper.readTree(ast));
+        assertThat(kinds(encoded)).containsExactly("f", "f", "d", "f");
+    }
+
+    @Test
+    void arrayChangesRoundTrip() throws Exception {
+        String ast = """
+                [
+                  {"line": 1, "heap": [{"id": 1, "v": [1, 2]}]},
+                  {"line": 2, "heap": [{"id": 1, "v": [1, 2, 3]}]},
+                  {"line": 3, "heap": [{"id": 1, "v": [3]}, {"id": 2, "v": []}]},
+                  {"line": 4, "heap": []},
+                  {"line": 5, "heap": [[null, 1]]}
+                ]""";
+
+        JsonNode encoded = encoder.encode(ast);
+
+        // 배열은 Merge Patch 에서 통째로 바뀌므로, 안에 null 이 있는 마지막 단계만 전체를 보냅니다.
+        assertThat(decode(encoded)).isEqualTo(objectMapper.readTree(ast));
+        assertThat(kinds(encoded)).containsExactly("f", "d", "d", "d", "f");
+    }
+
+    @Test
+    void nonObjectStepsAreSentInFull() throws Exception {
+        String ast = """
+                [1, {"a": 1}, "end", {"a": 1}, {"a": {"b": 2}}, {"a": 3}]""";
+
+        JsonNode encoded = encoder.encode(ast);
+
+        assertThat(decode(encoded)).isEqualTo(objectMapper.readTree(ast));
+        assertThat(kinds(encoded)).containsExactly("f", "f", "f", "f", "d", "d");
+    }
+
+    @Test
+    void nonStepAstIsLeftForRawStringFallback() {
+        assertThat(encoder.encode("1+2=3")).isNull();
+        assertThat(encoder.encode("{\"type\": \"Module\", \"body\": []}")).isNull();
+        assertThat(encoder.encode("{\"steps\": \"none\"}")).isNull();
+        assertThat(encoder.encode("[{\"line\": 1}")).isNull();
+        assertThat(encoder.encode("  ")).isNull();
+        assertThat(encoder.encode(null)).isNull();
+    }
+
+    // Private Helper Methods
+
+    // 압축 형식을 원래 trace 로 되돌립니다. meta 가 비어 있으면 원래 trace 가 배열이었다고 봅니다.
+    private JsonNode decode(JsonNode encoded) {
+        List<String> keys = new ArrayList<>();
+        encoded.get("keys").forEach(key -> keys.add(key.asText()));
+
+        ArrayNode steps = objectMapper.createArrayNode();
+        JsonNode previous = null;
+        for (JsonNode step : encoded.get("steps")) {
+            JsonNode current = step.has("f")
+                    ? step.get("f").deepCopy()
+                    : mergePatch(previous.deepCopy(), step.get("d"));
+            steps.add(restoreKeys(current, keys));
+            previous = current;
+        }
+
+        JsonNode meta = restoreKeys(encoded.get("meta"), keys);
+        if (meta.isEmpty()) {
+            return steps;
+        }
+        ObjectNode trace = ((ObjectNode) meta).deepCopy();
+        trace.set("steps", steps);
+        return trace;
+    }
+
+    // RFC 7386 JSON Merge Patch
+    private JsonNode mergePatch(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject()
+                ? (ObjectNode) target
+                : objectMapper.createObjectNode();
+        patch.fields().forEachRemaining(field -> {
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), mergePatch(result.get(field.getKey()), field.getValue()));
+            }
+        });
+        return result;
+    }
+
+    private JsonNode restoreKeys(JsonNode node, List<String> keys) {
+        if (node.isObject()) {
+            ObjectNode restored = objectMapper.createObjectNode();
+            node.fields().forEachRemaining(field -> restored.set(
+                    keys.get(Integer.parseInt(field.getKey(), 36)), restoreKeys(field.getValue(), keys)));
+            return restored;
+        }
+        if (node.isArray()) {
+            ArrayNode restored = objectMapper.createArrayNode();
+            node.forEach(element -> restored.add(restoreKeys(element, keys)));
+            return restored;
+        }
+        return node;
+    }
+
+    private static List<String> kinds(JsonNode encoded) {
+        List<String> kinds = new ArrayList<>();
+        encoded.get("steps").forEach(step -> kinds.add(step.fieldNames().next()));
+        return kinds;
+    }
+}
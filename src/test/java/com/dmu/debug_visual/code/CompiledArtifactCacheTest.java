@@ -0,0 +1,93 @@
+package com.dmu.debug_visual.code;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledArtifactCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storesAndReadsArtifact() throws IOException {
+        CompiledArtifactCache cache = cacheOf(1 << 20);
+        String key = CompiledArtifactCache.keyOf("java", "class Main {}");
+
+        cache.put(key, artifact("Main", 10));
+
+        CompiledArtifactCache.CompiledArtifact loaded = cache.get(key);
+        assertThat(loaded.getEntryPoint()).isEqualTo("Main");
+        assertThat(loaded.getFiles().get("Main")).hasSize(10);
+    }
+
+    @Test
+    void unreadableArtifactIsDroppedWithItsAccounting() throws IOException {
+        CompiledArtifactCache cache = cacheOf(1 << 20);
+        cache.put("broken", artifact("Main", 10));
+        Files.write(directory.resolve("broken.artifact"), new byte[]{1});
+
+        assertThat(cache.get("broken")).isNull();
+        assertThat(cache.getTotalBytes()).isZero();
+        assertThat(directory.resolve("broken.artifact")).doesNotExist();
+    }
+
+    @Test
+    void replacingArtifactKeepsAccountingConsistent() throws IOException {
+        CompiledArtifactCache cache = cacheOf(1 << 20);
+        cache.put("key", artifact("Main", 10));
+        long firstSize = cache.getTotalBytes();
+
+        cache.put("key", artifact("Main", 100));
+
+        assertThat(cache.getTotalBytes()).isEqualTo(firstSize + 90);
+        assertThat(cache.get("key").getFiles().get("Main")).hasSize(100);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverBudget() throws IOException {
+        CompiledArtifactCache probe = cacheOf(1 << 20);
+        probe.put("probe", artifact("Main", 100));
+        long entrySize = probe.getTotalBytes();
+        probe.get("probe");
+        Files.delete(directory.resolve("probe.artifact"));
+
+        CompiledArtifactCache cache = cacheOf(entrySize * 2);
+        cache.put("a", artifact("Main", 100));
+        cache.put("b", artifact("Main", 100));
+        cache.get("a");
+        cache.put("c", artifact("Main", 100));
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+    }
+
+    @Test
+    void reloadsArtifactsAndRemovesLeftoverTempFiles() throws IOException {
+        CompiledArtifactCache first = cacheOf(1 << 20);
+        first.put("kept", artifact("Main", 10));
+        Path leftover = Files.createFile(directory.resolve("kept12345.tmp"));
+
+        CompiledArtifactCache restarted = cacheOf(1 << 20);
+
+        assertThat(leftover).doesNotExist();
+        assertThat(restarted.get("kept")).isNotNull();
+        assertThat(restarted.getTotalBytes()).isEqualTo(first.getTotalBytes());
+    }
+
+    private CompiledArtifactCache cacheOf(long maxBytes) throws IOException {
+        return new CompiledArtifactCache(directory.toString(), maxBytes, new SimpleMeterRegistry());
+    }
+
+    private static CompiledArtifactCache.CompiledArtifact artifact(String entryPoint, int size) {
+        return new CompiledArtifactCache.CompiledArtifact(entryPoint, Map.of(entryPoint, new byte[size]));
+    }
+}
@@ -0,0 +1,173 @@
+package com.dmu.debug_visual.code;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스텁 컴파일러 서버 두 대로 hedged request 의 전송 조건(짧은 실행, 실행 슬롯, 예산)을 확인합니다.
+ */
+class CompilerBackendPoolHedgingTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Function<CompilerBackend, Mono<String>> RUN = backend -> backend.getWebClient().post()
+            .uri(backend.getRunUrl())
+            .retrieve()
+            .bodyToMono(String.class)
+            .map(body -> backend.getRunUrl());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StubCompilerServer first;
+    private StubCompilerServer second;
+    private CompilerBackend a;
+    private CompilerBackend b;
+
+    @BeforeEach
+    void startServers() throws IOException {
+        first = new StubCompilerServer();
+        second = new StubCompilerServer();
+        a = backendOf(first);
+        b = backendOf(second);
+    }
+
+    @AfterEach
+    void stopServers() {
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void hedgeWinsWhenPrimaryBackendIsSlow() {
+        HedgingPolicy policy = policyOf(100, 5000);
+        policy.recordLatency(10);
+        CompilerBackendPool pool = poolOf(policy, null);
+
+        CountDownLatch release = first.holdResponses();
+        try {
+            assertThat(pool.executeHedged(RUN).block(TIMEOUT)).isEqualTo(second.runUrl());
+        } finally {
+            release.countDown();
+        }
+        assertThat(hedgeCount("sent")).isEqualTo(1);
+        assertThat(hedgeCount("won")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotHedgeWhenRouteRunsAreLongerThanMaxRun() throws Exception {
+        HedgingPolicy policy = policyOf(100, 1000);
+        policy.recordLatency(5000);
+        CompilerBackendPool pool = poolOf(policy, null);
+
+        CountDownLatch release = first.holdResponses();
+        CompletableFuture<String> result = pool.executeHedged(RUN).toFuture();
+        Thread.sleep(300);
+        release.countDown();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(first.runUrl());
+        assertThat(second.runCalls()).isZero();
+    }
+
+    @Test
+    void hedgeIsCutOffAfterMaxRunWithoutCountingAsFailure() throws Exception {
+        HedgingPolicy policy = policyOf(100, 200);
+        policy.recordLatency(10);
+        CompilerBackendPool pool = poolOf(policy, null);
+
+        CountDownLatch releaseFirst = first.holdResponses();
+        CountDownLatch releaseSecond = second.holdResponses();
+        CompletableFuture<String> result = pool.executeHedged(RUN).toFuture();
+        Thread.sleep(600);
+
+        // 추가 요청은 50ms 뒤 보내졌다가 200ms 안에 응답이 없어 끊겼습니다.
+        assertThat(hedgeCount("sent")).isEqualTo(1);
+        assertThat(b.getOutstandingCount()).isZero();
+        assertThat(b.getCircuitBreaker().getState()).isEqualTo(BackendCircuitBreaker.State.CLOSED);
+
+        releaseFirst.countDown();
+        releaseSecond.countDown();
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(first.runUrl());
+    }
+
+    @Test
+    void hedgeWaitsForAFreeAdmissionSlot() throws Exception {
+        HedgingPolicy policy = policyOf(100, 5000);
+        policy.recordLatency(10);
+        ExecutionAdmissionController admission =
+                new ExecutionAdmissionController("test", 1, 10, 10, TIMEOUT, meterRegistry);
+        CompilerBackendPool pool = poolOf(policy, admission);
+
+        CountDownLatch release = first.holdResponses();
+        CompletableFuture<String> result = admission.run("user", () -> pool.executeHedged(RUN)).toFuture();
+        Thread.sleep(300);
+
+        // 원래 요청이 유일한 실행 슬롯을 쓰고 있으므로 추가 요청을 보내지 않습니다.
+        assertThat(second.runCalls()).isZero();
+        assertThat(hedgeCount("sent")).isZero();
+
+        release.countDown();
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(first.runUrl());
+        assertThat(admission.getRunning()).isZero();
+    }
+
+    @Test
+    void hedgeWithoutAvailableBackendRefundsItsBudget() throws Exception {
+        // 요청 두 번에 추가 요청 한 번 분량의 예산이 쌓입니다.
+        HedgingPolicy policy = policyOf(50, 5000);
+        policy.recordLatency(10);
+        CompilerBackendPool pool = poolOf(policy, null);
+
+        b.setHealthy(false);
+        for (int i = 0; i < 2; i++) {
+            CountDownLatch release = first.holdResponses();
+            CompletableFuture<String> result = pool.executeHedged(RUN).toFuture();
+            Thread.sleep(400);
+            release.countDown();
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(first.runUrl());
+        }
+        assertThat(hedgeCount("sent")).isZero();
+
+        // 돌려받은 예산으로 세 번째 요청에서 추가 요청을 보낼 수 있습니다.
+        b.setHealthy(true);
+        CountDownLatch release = first.holdResponses();
+        try {
+            assertThat(pool.executeHedged(RUN).block(TIMEOUT)).isEqualTo(second.runUrl());
+        } finally {
+            release.countDown();
+        }
+        assertThat(hedgeCount("sent")).isEqualTo(1);
+    }
+
+    // Private Helper Methods
+
+    private HedgingPolicy policyOf(double budgetPercent, long maxRunMillis) {
+        return new HedgingPolicy("test", 95, budgetPercent, 10, 1, 50, maxRunMillis, meterRegistry);
+    }
+
+    private CompilerBackendPool poolOf(HedgingPolicy policy, ExecutionAdmissionController admission) {
+        return new CompilerBackendPool("test", List.of(a, b), 5, 60000, 50, policy, admission);
+    }
+
+    private double hedgeCount(String result) {
+        return meterRegistry.get("code.execution.hedge").tag("result", result).counter().count();
+    }
+
+    private static CompilerBackend backendOf(StubCompilerServer server) {
+        return new CompilerBackend(server.runUrl(), server.healthUrl(), WebClient.create(),
+                new BackendCircuitBreaker(20, 10, 50, 30000));
+    }
+}
@@ -0,0 +1,167 @@
+package com.dmu.debug_visual.code;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 여러 스텁 컴파일러 서버를 띄워 분산, 일시 제외, 서킷 브레이커 동작을 확인합니다.
+ */
+class CompilerBackendPoolTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    // 응답한 서버의 주소를 결과로 돌려주는 호출
+    private static final Function<CompilerBackend, Mono<String>> RUN = backend -> backend.getWebClient().post()
+            .uri(backend.getRunUrl())
+            .retrieve()
+            .bodyToMono(String.class)
+            .map(body -> backend.getRunUrl());
+
+    private StubCompilerServer first;
+    private StubCompilerServer second;
+
+    @BeforeEach
+    void startServers() throws IOException {
+        first = new StubCompilerServer();
+        second = new StubCompilerServer();
+    }
+
+    @AfterEach
+    void stopServers() {
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void picksTheBackendWithFewestOutstandingRequests() throws Exception {
+        CompilerBackend a = backendOf(first);
+        CompilerBackend b = backendOf(second);
+        CompilerBackendPool pool = poolOf(List.of(a, b), 5, 50);
+
+        CountDownLatch release = first.holdResponses();
+        CompletableFuture<String> slow = pool.execute(RUN).toFuture();
+        assertThat(a.getOutstandingCount()).isEqualTo(1);
+
+        // 첫 번째 서버가 요청을 처리 중이므로 두 번째 서버가 선택됩니다.
+        assertThat(pool.execute(RUN).block(TIMEOUT)).isEqualTo(second.runUrl());
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(first.runUrl());
+        assertThat(a.getOutstandingCount()).isZero();
+        assertThat(b.getOutstandingCount()).isZero();
+    }
+
+    @Test
+    void ejectsBackendAfterConsecutiveFailures() {
+        first.runStatus(500);
+        CompilerBackend a = backendOf(first);
+        CompilerBackendPool pool = poolOf(List.of(a, backendOf(second)), 2, 50);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> pool.execute(RUN).block(TIMEOUT))
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+        assertThat(a.isEjected(System.currentTimeMillis())).isTrue();
+
+        assertThat(pool.execute(RUN).block(TIMEOUT)).isEqualTo(second.runUrl());
+        assertThat(first.runCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotEjectMoreThanMaxEjectionPercent() {
+        first.runStatus(500);
+        second.runStatus(500);
+        CompilerBackend a = backendOf(first);
+        CompilerBackend b = backendOf(second);
+        CompilerBackendPool pool = poolOf(List.of(a, b), 1, 50);
+
+        assertThatThrownBy(() -> pool.execute(RUN).block(TIMEOUT)).isInstanceOf(WebClientResponseException.class);
+        assertThatThrownBy(() -> pool.execute(RUN).block(TIMEOUT)).isInstanceOf(WebClientResponseException.class);
+
+        long now = System.currentTimeMillis();
+        assertThat(a.isEjected(now)).isTrue();
+        assertThat(b.isEjected(now)).isFalse();
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsBackendFailures() {
+        first.runStatus(400);
+        CompilerBackend a = backendOf(first, new BackendCircuitBreaker(4, 2, 50, 60000));
+        CompilerBackendPool pool = poolOf(List.of(a, backendOf(second)), 1, 50);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> pool.execute(RUN).block(TIMEOUT)).isInstanceOf(WebClientResponseException.class);
+        }
+        assertThat(a.isEjected(System.currentTimeMillis())).isFalse();
+        assertThat(a.getCircuitBreaker().getState()).isEqualTo(BackendCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void openCircuitRoutesCallsToTheOtherBackend() {
+        first.runStatus(503);
+        CompilerBackend a = backendOf(first, new BackendCircuitBreaker(4, 2, 50, 60000));
+        CompilerBackendPool pool = poolOf(List.of(a, backendOf(second)), 100, 50);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> pool.execute(RUN).block(TIMEOUT)).isInstanceOf(WebClientResponseException.class);
+        }
+        assertThat(a.getCircuitBreaker().getState()).isEqualTo(BackendCircuitBreaker.State.OPEN);
+
+        assertThat(pool.execute(RUN).block(TIMEOUT)).isEqualTo(second.runUrl());
+        assertThat(first.runCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void retriesOnAnotherBackendWhenConnectionIsRefused() throws IOException {
+        String deadUrl;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            deadUrl = "http://127.0.0.1:" + socket.getLocalPort() + "/run";
+        }
+        CompilerBackend dead = new CompilerBackend(deadUrl, deadUrl, WebClient.create(),
+                new BackendCircuitBreaker(20, 10, 50, 30000));
+        CompilerBackendPool pool = poolOf(List.of(dead, backendOf(second)), 5, 50);
+
+        assertThat(pool.execute(RUN).block(TIMEOUT)).isEqualTo(second.runUrl());
+    }
+
+    @Test
+    void failsWhenNoBackendIsAvailable() {
+        CompilerBackend a = backendOf(first);
+        a.setHealthy(false);
+        CompilerBackendPool pool = poolOf(List.of(a), 5, 50);
+
+        assertThatThrownBy(() -> pool.execute(RUN).block(TIMEOUT))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(first.runCalls()).isZero();
+    }
+
+    // Private Helper Methods
+
+    private static CompilerBackend backendOf(StubCompilerServer server) {
+        return backendOf(server, new BackendCircuitBreaker(20, 10, 50, 30000));
+    }
+
+    private static CompilerBackend backendOf(StubCompilerServer server, BackendCircuitBreaker circuitBreaker) {
+        return new CompilerBackend(server.runUrl(), server.healthUrl(), WebClient.create(), circuitBreaker);
+    }
+
+    private static CompilerBackendPool poolOf(List<CompilerBackend> backends, int consecutiveFailures, int maxEjectionPercent) {
+        return new CompilerBackendPool("test", backends, consecutiveFailures, 60000, maxEjectionPercent, null, null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.config.CompilerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompilerHealthCheckerTest {
+
+    private StubCompilerServer server;
+    private CompilerBackend backend;
+    private CompilerHealthChecker healthChecker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubCompilerServer();
+        backend = new CompilerBackend(server.runUrl(), server.healthUrl(), WebClient.create(),
+                new BackendCircuitBreaker(20, 10, 50, 30000));
+        CompilerBackendPool pool = new CompilerBackendPool("default", List.of(backend), 5, 30000, 50, null, null);
+        CompilerRouter router = new CompilerRouter(Map.of(),
+                CompilerRoute.builder().name("default").backendPool(pool).build());
+        healthChecker = new CompilerHealthChecker(router, new CompilerProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void marksBackendDownOnServerErrorAndUpAfterRecovery() throws InterruptedException {
+        server.healthStatus(503);
+        healthChecker.checkBackends();
+        awaitTrue(() -> !backend.isHealthy());
+        assertThat(backend.isAvailable(System.currentTimeMillis())).isFalse();
+
+        server.healthStatus(200);
+        healthChecker.checkBackends();
+        awaitTrue(backend::isHealthy);
+    }
+
+    @Test
+    void treatsClientErrorResponseAsAlive() throws InterruptedException {
+        backend.setHealthy(false);
+        server.healthStatus(404);
+
+        healthChecker.checkBackends();
+
+        awaitTrue(backend::isHealthy);
+    }
+
+    @Test
+    void marksUnreachableBackendDown() throws InterruptedException {
+        server.close();
+
+        healthChecker.checkBackends();
+
+        awaitTrue(() -> !backend.isHealthy());
+    }
+
+    // 상태 점검은 비동기로 끝나므로 결과가 반영될 때까지 기다립니다.
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 사용자 간 라운드로빈 순서, 대기열 한도에 따른 거절, 대기 시간 초과, 취소/에러 시 슬롯 반납을 확인합니다.
+ */
+class ExecutionAdmissionControllerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void queuedRequestsAreServedRoundRobinAcrossUsers() throws Exception {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 10, TIMEOUT);
+
+        Sinks.One<String> a0 = Sinks.one();
+        Sinks.One<String> a1 = Sinks.one();
+        Sinks.One<String> a2 = Sinks.one();
+        Sinks.One<String> a3 = Sinks.one();
+        Sinks.One<String> b1 = Sinks.one();
+        CompletableFuture<String> first = admission.run("a", task("a0", a0)).toFuture();
+        List<CompletableFuture<String>> queued = List.of(
+                admission.run("a", task("a1", a1)).toFuture(),
+                admission.run("a", task("a2", a2)).toFuture(),
+                admission.run("a", task("a3", a3)).toFuture(),
+                admission.run("b", task("b1", b1)).toFuture());
+        assertThat(admission.getRunning()).isEqualTo(1);
+        assertThat(admission.getQueued()).isEqualTo(4);
+
+        // 슬롯이 반납될 때마다 다음 요청이 시작됩니다. a 가 먼저 줄을 섰어도 b 가 a 의 요청 사이에 끼어듭니다.
+        a0.tryEmitValue("a0");
+        a1.tryEmitValue("a1");
+        b1.tryEmitValue("b1");
+        a2.tryEmitValue("a2");
+        a3.tryEmitValue("a3");
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a0");
+        for (CompletableFuture<String> future : queued) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(started).containsExactly("a0", "a1", "b1", "a2", "a3");
+        assertThat(admission.getRunning()).isZero();
+        assertThat(admission.getQueued()).isZero();
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenQueueIsFull() {
+        ExecutionAdmissionController admission = controllerOf(1, 2, 10, TIMEOUT);
+
+        admission.run("a", task("running", Sinks.one())).subscribe();
+        admission.run("b", task("b1", Sinks.one())).subscribe();
+        admission.run("c", task("c1", Sinks.one())).subscribe();
+
+        assertThatThrownBy(() -> admission.run("d", task("d1", Sinks.one())).block(TIMEOUT))
+                .isInstanceOfSatisfying(ExecutionRejectedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isGreaterThanOrEqualTo(1));
+        assertThat(started).containsExactly("running");
+        assertThat(admission.getQueued()).isEqualTo(2);
+        assertThat(rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsUserOverPerUserLimitWhileOthersCanStillQueue() {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 1, TIMEOUT);
+
+        admission.run("a", task("running", Sinks.one())).subscribe();
+        admission.run("a", task("a1", Sinks.one())).subscribe();
+
+        assertThatThrownBy(() -> admission.run("a", task("a2", Sinks.one())).block(TIMEOUT))
+                .isInstanceOf(ExecutionRejectedException.class);
+        admission.run("b", task("b1", Sinks.one())).subscribe();
+        assertThat(admission.getQueued()).isEqualTo(2);
+        assertThat(rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectionIsMappedTo429WithRetryAfterHeader() {
+        CodeController controller = new CodeController(null, null, null, null);
+
+        ResponseEntity<CodeRunResponseDTO> response =
+                controller.handleExecutionRejected(new ExecutionRejectedException("full", 3));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(response.getBody().isSuccess()).isFalse();
+    }
+
+    @Test
+    void queuedRequestIsRejectedAfterQueueTimeout() {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 10, Duration.ofMillis(100));
+
+        admission.run("a", task("running", Sinks.one())).subscribe();
+
+        assertThatThrownBy(() -> admission.run("b", task("b1", Sinks.one())).block(TIMEOUT))
+                .isInstanceOfSatisfying(ExecutionRejectedException.class,
+                        e -> assertThat(e.getMessage()).contains("시간이 초과"));
+        // 시간이 초과된 요청은 대기열에서 빠지고 슬롯을 받지 않습니다.
+        assertThat(admission.getQueued()).isZero();
+        assertThat(admission.getRunning()).isEqualTo(1);
+        assertThat(started).containsExactly("running");
+        assertThat(rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingRunningTaskReleasesItsSlotToNextWaiter() throws Exception {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 10, TIMEOUT);
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        Disposable running = admission.run("a", () -> Mono.<String>never()
+                .doOnSubscribe(s -> started.add("running"))
+                .doOnCancel(() -> cancelled.set(true))).subscribe();
+        Sinks.One<String> next = Sinks.one();
+        CompletableFuture<String> waiting = admission.run("b", task("b1", next)).toFuture();
+        assertThat(admission.getQueued()).isEqualTo(1);
+
+        running.dispose();
+
+        assertThat(cancelled).isTrue();
+        assertThat(started).containsExactly("running", "b1");
+        next.tryEmitValue("b1");
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("b1");
+        assertThat(admission.getRunning()).isZero();
+    }
+
+    @Test
+    void cancellingQueuedRequestLeavesQueueWithoutTakingSlot() {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 10, TIMEOUT);
+        Sinks.One<String> running = Sinks.one();
+
+        admission.run("a", task("running", running)).subscribe();
+        Disposable waiting = admission.run("b", task("b1", Sinks.one())).subscribe();
+        assertThat(admission.getQueued()).isEqualTo(1);
+
+        waiting.dispose();
+        assertThat(admission.getQueued()).isZero();
+
+        running.tryEmitValue("done");
+        assertThat(started).containsExactly("running");
+        assertThat(admission.getRunning()).isZero();
+    }
+
+    @Test
+    void failingTaskReleasesItsSlot() throws Exception {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 10, TIMEOUT);
+        Sinks.One<String> failing = Sinks.one();
+
+        CompletableFuture<String> first = admission.run("a", task("failing", failing)).toFuture();
+        Sinks.One<String> next = Sinks.one();
+        CompletableFuture<String> second = admission.run("b", task("b1", next)).toFuture();
+
+        failing.tryEmitError(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(started).containsExactly("failing", "b1");
+        next.tryEmitValue("b1");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("b1");
+        assertThat(admission.getRunning()).isZero();
+    }
+
+    @Test
+    void failingTaskSupplierReleasesItsSlot() {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 10, TIMEOUT);
+
+        assertThatThrownBy(() -> admission.<String>run("a", () -> {
+            throw new IllegalStateException("boom");
+        }).block(TIMEOUT)).isInstanceOf(IllegalStateException.class);
+        assertThat(admission.getRunning()).isZero();
+    }
+
+    @Test
+    void tryRunNowSkipsTaskWhenNoSlotIsFree() {
+        ExecutionAdmissionController admission = controllerOf(1, 10, 10, TIMEOUT);
+        Sinks.One<String> running = Sinks.one();
+
+        admission.run("a", task("running", running)).subscribe();
+        assertThat(admission.tryRunNow(() -> Mono.just("hedge")).block(TIMEOUT)).isNull();
+
+        running.tryEmitValue("done");
+        assertThat(admission.tryRunNow(() -> Mono.just("hedge")).block(TIMEOUT)).isEqualTo("hedge");
+        assertThat(admission.getRunning()).isZero();
+    }
+
+    // Private Helper Methods
+
+    private ExecutionAdmissionController controllerOf(int maxConcurrency, int maxQueueSize, int maxQueuedPerUser,
+                                                      Duration queueTimeout) {
+        return new ExecutionAdmissionController("test", maxConcurrency, maxQueueSize, maxQueuedPerUser,
+                queueTimeout, meterRegistry);
+    }
+
+    // 슬롯을 받으면 시작 순서를 기록하고, sink 가 값을 낼 때까지 슬롯을 붙잡는 작업
+    private Supplier<Mono<String>> task(String name, Sinks.One<String> result) {
+        return () -> {
+            started.add(name);
+            return result.asMono();
+        };
+    }
+
+    private double rejectedCount() {
+        return meterRegistry.get("code.execution.admission.rejected").tag("pool", "test").counter().count();
+    }
+}
@@ -0,0 +1,111 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionCoalescerTest {
+
+    private final ExecutionCoalescer coalescer = new ExecutionCoalescer(new SimpleMeterRegistry());
+
+    @Test
+    void concurrentRequestsShareOneUpstreamCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<FluxSink<CodeRunResponseDTO>> sink = new AtomicReference<>();
+        Mono<CodeRunResponseDTO> upstream = Mono.fromDirect(Flux.<CodeRunResponseDTO>create(sink::set));
+
+        CompletableFuture<CodeRunResponseDTO> first = coalescer.execute("k", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        }).toFuture();
+        CompletableFuture<CodeRunResponseDTO> second = coalescer.execute("k", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        }).toFuture();
+
+        sink.get().next(response("shared"));
+        sink.get().complete();
+
+        assertThat(first.get(1, TimeUnit.SECONDS).getStdout()).isEqualTo("shared");
+        assertThat(second.get(1, TimeUnit.SECONDS).getStdout()).isEqualTo("shared");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void requestArrivingBetweenResultAndCompletionIsNotLeftEmpty() throws Exception {
+        AtomicReference<FluxSink<CodeRunResponseDTO>> sink = new AtomicReference<>();
+        CompletableFuture<CodeRunResponseDTO> leader = coalescer.execute("k",
+                () -> Mono.fromDirect(Flux.<CodeRunResponseDTO>create(sink::set))).toFuture();
+
+        // 결과는 전달되었지만 아직 완료 신호가 오기 전
+        sink.get().next(response("first"));
+        CodeRunResponseDTO late = coalescer.execute("k", () -> Mono.just(response("second")))
+                .block(Duration.ofSeconds(1));
+        sink.get().complete();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS).getStdout()).isEqualTo("first");
+        assertThat(late).isNotNull();
+    }
+
+    @Test
+    void followersNeverCompleteEmptyUnderContention() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String key = "round-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<CodeRunResponseDTO>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return coalescer.execute(key, () -> Mono.fromDirect(Flux.<CodeRunResponseDTO>create(s -> {
+                            s.next(response("ok"));
+                            Thread.onSpinWait();
+                            s.complete();
+                        }))).block(Duration.ofSeconds(5));
+                    }));
+                }
+                start.countDown();
+                for (Future<CodeRunResponseDTO> result : results) {
+                    assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancellingEveryWaiterCancelsTheUpstreamCall() {
+        AtomicInteger cancelled = new AtomicInteger();
+        Mono<CodeRunResponseDTO> upstream = Mono.<CodeRunResponseDTO>never().doOnCancel(cancelled::incrementAndGet);
+
+        var first = coalescer.execute("k", () -> upstream).subscribe();
+        var second = coalescer.execute("k", () -> upstream).subscribe();
+        first.dispose();
+        assertThat(cancelled).hasValue(0);
+        second.dispose();
+        assertThat(cancelled).hasValue(1);
+    }
+
+    private static CodeRunResponseDTO response(String stdout) {
+        return CodeRunResponseDTO.builder().stdout(stdout).success(true).build();
+    }
+}
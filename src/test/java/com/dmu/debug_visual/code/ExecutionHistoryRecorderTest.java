@@ -0,0 +1,95 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ExecutionHistoryRecorderTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 저장된 행: requester, lang, type, code_hash
+    private final List<List<String>> rows = new ArrayList<>();
+
+    @Test
+    void oversizedValuesDoNotPoisonTheirBatch() throws Exception {
+        acceptRowsLikeAStrictDatabase();
+        ExecutionHistoryRecorder recorder = recorderOf(10);
+
+        recorder.record(ExecutionType.RUN, "user:alice", "python", "print(1)", response(), 10);
+        recorder.record(ExecutionType.RUN, "ip:" + "9".repeat(400), "x".repeat(300), "print(2)", response(), 10);
+        recorder.record(ExecutionType.RUN, "user:bob", "java", "class A {}", response(), 10);
+        recorder.shutdown();
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(1).get(0)).hasSize(ExecutionHistoryRecorder.MAX_REQUESTER_LENGTH);
+        assertThat(rows.get(1).get(1)).hasSize(ExecutionHistoryRecorder.MAX_LANG_LENGTH);
+        assertThat(meterRegistry.get("code.execution.history.written").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void buffersOnlyTheHashOfTheSource() throws Exception {
+        acceptRowsLikeAStrictDatabase();
+        ExecutionHistoryRecorder recorder = recorderOf(10);
+        String code = "x = 1\n".repeat(10000);
+
+        recorder.record(ExecutionType.VISUALIZE, "user:alice", "python", code, response(), 10);
+        recorder.shutdown();
+
+        assertThat(rows.get(0).get(3))
+                .hasSize(64)
+                .isEqualTo(CompiledArtifactCache.keyOf("python", code));
+    }
+
+    // Private Helper Methods
+
+    private ExecutionHistoryRecorder recorderOf(int batchSize) {
+        return new ExecutionHistoryRecorder(jdbcTemplate, true, 100, batchSize, 60000,
+                ExecutionHistoryRecorder.OverflowPolicy.DROP_NEWEST, meterRegistry);
+    }
+
+    // MySQL strict 모드처럼 컬럼 길이를 넘는 값이 하나라도 있으면 배치 전체를 실패시킵니다.
+    @SuppressWarnings("unchecked")
+    private void acceptRowsLikeAStrictDatabase() throws Exception {
+        doAnswer(invocation -> {
+            Collection<Object> batch = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            List<List<String>> written = new ArrayList<>();
+            for (Object record : batch) {
+                PreparedStatement statement = mock(PreparedStatement.class);
+                List<String> values = new ArrayList<>();
+                doAnswer(set -> values.add(set.getArgument(1))).when(statement).setString(anyInt(), anyString());
+                setter.setValues(statement, record);
+                if (values.get(0).length() > ExecutionHistoryRecorder.MAX_REQUESTER_LENGTH
+                        || values.get(1).length() > ExecutionHistoryRecorder.MAX_LANG_LENGTH
+                        || values.get(2).length() > ExecutionHistoryRecorder.MAX_TYPE_LENGTH) {
+                    throw new DataIntegrityViolationException("Data too long");
+                }
+                written.add(values);
+            }
+            rows.addAll(written);
+            return new int[][]{};
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static CodeRunResponseDTO response() {
+        return CodeRunResponseDTO.builder().stdout("ok").stderr("").exitCode(0).success(true).build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExecutionJobServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CodeExecutionService codeExecutionService = mock(CodeExecutionService.class);
+
+    @Test
+    void completedJobReleasesPendingSlot() {
+        ExecutionJobStore store = new ExecutionJobStore(10, 10, 60000, 60000, meterRegistry);
+        ExecutionJobService service = new ExecutionJobService(codeExecutionService, store, meterRegistry);
+        when(codeExecutionService.runCode(any(), any(), any(), any()))
+                .thenReturn(Mono.just(CodeRunResponseDTO.builder().stdout("ok").success(true).build()));
+
+        ExecutionJob job = service.submit(ExecutionType.RUN, "print(1)", "", "python", "user");
+
+        assertThat(job.getStatus()).isEqualTo(ExecutionJob.Status.COMPLETED);
+        assertThat(store.getPendingCount()).isZero();
+    }
+
+    @Test
+    void executionCompletingEmptyFailsTheJob() {
+        ExecutionJobStore store = new ExecutionJobStore(10, 10, 60000, 60000, meterRegistry);
+        ExecutionJobService service = new ExecutionJobService(codeExecutionService, store, meterRegistry);
+        when(codeExecutionService.runCode(any(), any(), any(), any())).thenReturn(Mono.empty());
+
+        ExecutionJob job = service.submit(ExecutionType.RUN, "print(1)", "", "python", "user");
+
+        assertThat(job.getStatus()).isEqualTo(ExecutionJob.Status.FAILED);
+        assertThat(job.getResult().isSuccess()).isFalse();
+        assertThat(store.getPendingCount()).isZero();
+    }
+
+    @Test
+    void stalePendingJobIsFailedToMakeRoom() {
+        ExecutionJobStore store = new ExecutionJobStore(10, 1, 60000, 1000, meterRegistry);
+        ExecutionJob stale = new ExecutionJob("stale", ExecutionType.RUN, System.currentTimeMillis() - 5000);
+        store.register(stale);
+
+        store.register(new ExecutionJob("fresh", ExecutionType.RUN, System.currentTimeMillis()));
+
+        assertThat(stale.getStatus()).isEqualTo(ExecutionJob.Status.FAILED);
+        assertThat(store.getPendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWhenPendingJobsAreStillRunning() {
+        ExecutionJobStore store = new ExecutionJobStore(10, 1, 60000, 60000, meterRegistry);
+        store.register(new ExecutionJob("running", ExecutionType.RUN, System.currentTimeMillis()));
+
+        assertThatThrownBy(() -> store.register(new ExecutionJob("next", ExecutionType.RUN, System.currentTimeMillis())))
+                .isInstanceOf(ExecutionRejectedException.class);
+    }
+
+    @Test
+    void purgeFailsStalePendingJobs() {
+        ExecutionJobStore store = new ExecutionJobStore(10, 10, 60000, 1000, meterRegistry);
+        ExecutionJob stale = new ExecutionJob("stale", ExecutionType.RUN, System.currentTimeMillis() - 5000);
+        store.register(stale);
+
+        store.purgeExpired();
+
+        assertThat(stale.getStatus()).isEqualTo(ExecutionJob.Status.FAILED);
+        assertThat(store.getPendingCount()).isZero();
+        assertThat(store.find("stale")).isSameAs(stale);
+    }
+}
@@ -0,0 +1,84 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.config.CompilerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionOutputStoreTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    void spillsLongOutputToAFileAndKeepsTheHeadInline() throws Exception {
+        ExecutionOutputStore store = storeOf(10000, 100, 1000);
+        String stdout = "a".repeat(500);
+
+        CodeRunResponseDTO response = store.readLargeResponse(bodyOf(json(stdout))).block(TIMEOUT);
+
+        assertThat(response.getStdout()).startsWith("a".repeat(100)).contains("outputId");
+        Path spilled = store.find(response.getOutputId(), "stdout");
+        assertThat(Files.readString(spilled)).isEqualTo(stdout);
+    }
+
+    @Test
+    void rejectsResponsesLargerThanTheByteBudget() throws Exception {
+        ExecutionOutputStore store = storeOf(1000, 100, 1000);
+
+        assertThatThrownBy(() -> store.readLargeResponse(bodyOf(json("a".repeat(5000)))).block(TIMEOUT))
+                .isInstanceOf(DataBufferLimitException.class);
+    }
+
+    @Test
+    void readsOutputLongerThanJacksonsDefaultStringLimit() throws Exception {
+        // Jackson 의 기본 문자열 길이 제한은 20,000,000 자입니다.
+        ExecutionOutputStore store = storeOf(25_000_000, 100, 21_000_000);
+        int length = 20_500_000;
+
+        CodeRunResponseDTO response = store.readLargeResponse(bodyOf(json("a".repeat(length)))).block(TIMEOUT);
+
+        assertThat(Files.size(store.find(response.getOutputId(), "stdout"))).isEqualTo(length);
+    }
+
+    // Private Helper Methods
+
+    private static ExecutionOutputStore storeOf(long maxResponseBytes, int maxInlineChars, long maxSpillChars)
+            throws Exception {
+        CompilerProperties properties = new CompilerProperties();
+        properties.getOutput().setMaxResponseBytes(maxResponseBytes);
+        properties.getOutput().setMaxInlineChars(maxInlineChars);
+        properties.getOutput().setMaxSpillChars(maxSpillChars);
+        return new ExecutionOutputStore(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    private static String json(String stdout) {
+        return "{\"stdout\":\"" + stdout + "\",\"stderr\":\"\",\"exitCode\":0,\"success\":true}";
+    }
+
+    // 네트워크에서 받는 것처럼 8KB 조각으로 나눕니다.
+    private static Flux<DataBuffer> bodyOf(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += 8192) {
+            int length = Math.min(8192, bytes.length - offset);
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, offset, offset + length)));
+        }
+        return Flux.fromIterable(chunks);
+    }
+}
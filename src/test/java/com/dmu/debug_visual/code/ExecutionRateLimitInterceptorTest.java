@@ -0,0 +1,55 @@
+package com.dmu.debug_visual.code;
+
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExecutionRateLimitInterceptorTest {
+
+    private final ExecutionRateLimiter rateLimiter = mock(ExecutionRateLimiter.class);
+    private final ExecutionRateLimitInterceptor interceptor = new ExecutionRateLimitInterceptor(rateLimiter);
+
+    @Test
+    void chargesEachRunOnceAcrossTheAsyncRedispatch() throws Exception {
+        when(rateLimiter.tryAcquire(anyString(), anyString())).thenReturn(0L);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/code/run");
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+
+        verify(rateLimiter, times(1)).tryAcquire(anyString(), anyString());
+    }
+
+    @Test
+    void asyncRedispatchIsNeverRejected() throws Exception {
+        when(rateLimiter.tryAcquire(anyString(), anyString())).thenReturn(5000L);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/code/run/stream");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        verify(rateLimiter, never()).tryAcquire(anyString(), anyString());
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenTheLimitIsReached() throws Exception {
+        when(rateLimiter.tryAcquire(anyString(), anyString())).thenReturn(1500L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/code/run"), response, new Object()))
+                .isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    }
+}
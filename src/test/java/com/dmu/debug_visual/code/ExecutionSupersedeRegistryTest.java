@@ -0,0 +1,185 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 같은 세션 키로 실행이 겹칠 때 이전 실행이 취소되고, 그 취소가 입장 제어 슬롯과 컴파일러 호출까지 전달되는지 확인합니다.
+ */
+class ExecutionSupersedeRegistryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutionSupersedeRegistry registry = new ExecutionSupersedeRegistry(meterRegistry);
+    private final ExecutionAdmissionController admission =
+            new ExecutionAdmissionController("test", 1, 10, 10, TIMEOUT, meterRegistry);
+
+    private StubCompilerServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new StubCompilerServer();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void newerRunWithSameSessionCancelsPreviousRunUpToBackend() throws Exception {
+        AtomicInteger backendCancels = new AtomicInteger();
+        CodeExecutionService codeExecutionService = mock(CodeExecutionService.class);
+        when(codeExecutionService.runCode(any(), any(), any(), any()))
+                .thenReturn(callCompiler(backendCancels), Mono.just(ok("second")));
+        CodeController controller = new CodeController(codeExecutionService, registry, null, null);
+
+        CountDownLatch release = server.holdResponses();
+        try {
+            CompletableFuture<ResponseEntity<CodeRunResponseDTO>> first =
+                    controller.runCode(runRequest(), null, sessionRequest("tab-1")).toFuture();
+            awaitRunCalls(1);
+            assertThat(admission.getRunning()).isEqualTo(1);
+
+            ResponseEntity<CodeRunResponseDTO> second =
+                    controller.runCode(runRequest(), null, sessionRequest("tab-1")).block(TIMEOUT);
+
+            // 이전 실행은 취소 응답으로 끝나고, 취소가 컴파일러 호출과 실행 슬롯까지 전달됩니다.
+            CodeRunResponseDTO superseded = first.get(5, TimeUnit.SECONDS).getBody();
+            assertThat(superseded.isSuccess()).isFalse();
+            assertThat(superseded.getStderr()).contains("취소");
+            assertThat(second.getBody().getStdout()).isEqualTo("second");
+            assertThat(backendCancels).hasValue(1);
+            assertThat(admission.getRunning()).isZero();
+            assertThat(server.runCalls()).isEqualTo(1);
+            assertThat(cancelledCount("superseded")).isEqualTo(1);
+            assertThat(cancelledCount("client")).isZero();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void runsInDifferentSessionsDoNotCancelEachOther() {
+        Sinks.One<String> first = Sinks.one();
+        AtomicInteger cancels = new AtomicInteger();
+
+        CompletableFuture<String> firstResult = registry.guard("user#tab-1",
+                first.asMono().doOnCancel(cancels::incrementAndGet), () -> "superseded").toFuture();
+        String second = registry.guard("user#tab-2", Mono.just("second"), () -> "superseded").block(TIMEOUT);
+
+        assertThat(second).isEqualTo("second");
+        assertThat(firstResult).isNotDone();
+        first.tryEmitValue("first");
+        assertThat(firstResult.join()).isEqualTo("first");
+        assertThat(cancels).hasValue(0);
+        assertThat(cancelledCount("superseded")).isZero();
+    }
+
+    @Test
+    void finishedRunDoesNotCountAsSupersededByNextRun() {
+        assertThat(registry.guard("user#tab-1", Mono.just("first"), () -> "superseded").block(TIMEOUT))
+                .isEqualTo("first");
+        assertThat(registry.guard("user#tab-1", Mono.just("second"), () -> "superseded").block(TIMEOUT))
+                .isEqualTo("second");
+        assertThat(cancelledCount("superseded")).isZero();
+    }
+
+    @Test
+    void newerStreamWithSameSessionEndsPreviousStreamWithSupersededValue() {
+        Sinks.Many<String> first = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicInteger cancels = new AtomicInteger();
+
+        CompletableFuture<List<String>> firstResult = registry.guardMany("user#tab-1",
+                first.asFlux().doOnCancel(cancels::incrementAndGet), () -> "superseded").collectList().toFuture();
+        first.tryEmitNext("case-1");
+        List<String> second = registry.guardMany("user#tab-1", Flux.just("case-1", "case-2"), () -> "superseded")
+                .collectList().block(TIMEOUT);
+
+        assertThat(firstResult.join()).containsExactly("case-1", "superseded");
+        assertThat(second).containsExactly("case-1", "case-2");
+        assertThat(cancels).hasValue(1);
+    }
+
+    @Test
+    void unguardedRunOnlyCountsClientCancel() {
+        Sinks.One<String> execution = Sinks.one();
+
+        registry.guard(null, execution.asMono(), () -> "superseded").subscribe().dispose();
+
+        assertThat(cancelledCount("client")).isEqualTo(1);
+        assertThat(cancelledCount("superseded")).isZero();
+    }
+
+    // Private Helper Methods
+
+    // 실행 슬롯을 얻은 뒤 스텁 컴파일러를 호출하는 실행 (취소되면 backendCancels 가 늘어납니다)
+    private Mono<CodeRunResponseDTO> callCompiler(AtomicInteger backendCancels) {
+        return admission.run("user", () -> WebClient.create().post()
+                .uri(server.runUrl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{}")
+                .retrieve()
+                .bodyToMono(CodeRunResponseDTO.class)
+                .doOnCancel(backendCancels::incrementAndGet));
+    }
+
+    private void awaitRunCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (server.runCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(server.runCalls()).isEqualTo(expected);
+    }
+
+    private double cancelledCount(String reason) {
+        return meterRegistry.get("code.execution.cancelled").tag("reason", reason).counter().count();
+    }
+
+    private static CodeRunRequestDTO runRequest() {
+        CodeRunRequestDTO request = new CodeRunRequestDTO();
+        request.setCode("print(1)");
+        request.setLang("python");
+        return request;
+    }
+
+    private static MockHttpServletRequest sessionRequest(String session) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ExecutionRequester.SESSION_HEADER, session);
+        return request;
+    }
+
+    private static CodeRunResponseDTO ok(String stdout) {
+        return CodeRunResponseDTO.builder()
+                .stdout(stdout)
+                .stderr("")
+                .exitCode(0)
+                .success(true)
+                .build();
+    }
+}
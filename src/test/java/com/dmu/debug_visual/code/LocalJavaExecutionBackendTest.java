@@ -0,0 +1,70 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.config.CompilerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalJavaExecutionBackendTest {
+
+    private static final String PRINT_ENVIRONMENT = """
+            public class Main {
+                public static void main(String[] args) {
+                    System.out.println(String.join(",", new java.util.TreeSet<>(System.getenv().keySet())));
+                    System.out.println(System.getProperty("user.dir"));
+                }
+            }
+            """;
+
+    @TempDir
+    Path artifactDir;
+
+    @Test
+    void staysDisabledWithoutSandboxCommand() throws IOException {
+        LocalJavaExecutionBackend backend = backendOf(new CompilerProperties());
+        try {
+            assertThat(backend.supports(ExecutionType.RUN, "java")).isFalse();
+        } finally {
+            backend.shutdown();
+        }
+    }
+
+    @Test
+    void workerDoesNotInheritServerEnvironment() throws IOException {
+        CompilerProperties properties = new CompilerProperties();
+        properties.getLocalJava().setAllowUnsandboxed(true);
+        properties.getLocalJava().setWarmWorkers(1);
+        LocalJavaExecutionBackend backend = backendOf(properties);
+        try {
+            CodeRunResponseDTO first = backend.execute(ExecutionType.RUN, new CodeRunRequestDTO(PRINT_ENVIRONMENT, "", "java"))
+                    .block(Duration.ofSeconds(30));
+            CodeRunResponseDTO second = backend.execute(ExecutionType.RUN, new CodeRunRequestDTO(PRINT_ENVIRONMENT, "", "java"))
+                    .block(Duration.ofSeconds(30));
+
+            assertThat(first.getExitCode()).as(first.getStderr()).isZero();
+            String[] lines = first.getStdout().split("\n");
+            assertThat(Set.of(lines[0].split(","))).isSubsetOf("HOME", "LANG", "PATH", "TMPDIR");
+
+            // 프로세스마다 전용 작업 디렉토리를 사용합니다.
+            String otherWorkDir = second.getStdout().split("\n")[1];
+            assertThat(lines[1]).contains("java-run").isNotEqualTo(otherWorkDir);
+        } finally {
+            backend.shutdown();
+        }
+    }
+
+    private LocalJavaExecutionBackend backendOf(CompilerProperties properties) throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CompiledArtifactCache artifactCache = new CompiledArtifactCache(artifactDir.toString(), 1 << 20, meterRegistry);
+        return new LocalJavaExecutionBackend(properties, artifactCache, meterRegistry);
+    }
+}
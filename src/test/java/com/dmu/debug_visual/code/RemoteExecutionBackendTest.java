@@ -0,0 +1,80 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunRequestDTO;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.config.CompilerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 응답 전송 방식(Content-Length 유무, 크기)과 관계없이 같은 출력 길이 제한이 적용되는지 확인합니다.
+ */
+class RemoteExecutionBackendTest {
+
+    private final CompilerProperties properties = new CompilerProperties();
+    private StubCompilerServer server;
+    private ExecutionOutputStore outputStore;
+    private RemoteExecutionBackend backend;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubCompilerServer();
+        outputStore = new ExecutionOutputStore(properties, new ObjectMapper(), new SimpleMeterRegistry());
+
+        int inMemoryThreshold = properties.getOutput().getInMemoryThresholdBytes();
+        WebClient webClient = WebClient.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(inMemoryThreshold))
+                .build();
+        CompilerBackend compilerBackend = new CompilerBackend(server.runUrl(), server.healthUrl(), webClient,
+                new BackendCircuitBreaker(20, 10, 50, 30000));
+        CompilerBackendPool pool = new CompilerBackendPool("default", List.of(compilerBackend), 5, 30000, 50, null, null);
+        CompilerRouter router = new CompilerRouter(Map.of(),
+                CompilerRoute.builder().name("default").backendPool(pool).build());
+        backend = new RemoteExecutionBackend(router, outputStore, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void capsOutputOfSmallResponsesReadInMemory() throws Exception {
+        // 응답에 담는 최대 길이(64K)보다 길지만 메모리에서 바로 읽는 크기(1MB)보다 작은 출력
+        String stdout = "a".repeat(200_000);
+        server.runBody("{\"stdout\":\"" + stdout + "\",\"stderr\":\"\",\"exitCode\":0,\"success\":true}");
+
+        CodeRunResponseDTO response = backend.execute(ExecutionType.RUN, new CodeRunRequestDTO("print()", "", "python"))
+                .block(Duration.ofSeconds(5));
+
+        int maxInlineChars = properties.getOutput().getMaxInlineChars();
+        assertThat(response.getStdout()).startsWith("a".repeat(maxInlineChars)).contains("outputId");
+        assertThat(response.getStdout().length()).isLessThan(maxInlineChars + 200);
+        assertThat(response.getOutputId()).isNotNull();
+        assertThat(Files.readString(outputStore.find(response.getOutputId(), "stdout"))).isEqualTo(stdout);
+        assertThat(response.getStderr()).isEmpty();
+    }
+
+    @Test
+    void leavesShortOutputUntouched() {
+        server.runBody("{\"stdout\":\"hello\",\"stderr\":\"\",\"exitCode\":0,\"success\":true}");
+
+        CodeRunResponseDTO response = backend.execute(ExecutionType.RUN, new CodeRunRequestDTO("print()", "", "python"))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(response.getStdout()).isEqualTo("hello");
+        assertThat(response.getOutputId()).isNull();
+    }
+}
@@ -0,0 +1,103 @@
+package com.dmu.debug_visual.code;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 컴파일러 서버 스텁
+ * /run 과 /health 에 설정한 상태 코드로 응답하며, 필요하면 응답을 붙잡아 둘 수 있습니다.
+ */
+class StubCompilerServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger runCalls = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private volatile int runStatus = 200;
+    private volatile int healthStatus = 200;
+    private volatile String runBody = "{\"stdout\":\"ok\",\"stderr\":\"\",\"exitCode\":0,\"success\":true}";
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+
+    StubCompilerServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/run", exchange -> {
+            runCalls.incrementAndGet();
+            try {
+                hold.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, runStatus, runBody);
+        });
+        server.createContext("/health", exchange -> respond(exchange, healthStatus, "{}"));
+        server.start();
+    }
+
+    String runUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/run";
+    }
+
+    String healthUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/health";
+    }
+
+    int runCalls() {
+        return runCalls.get();
+    }
+
+    StubCompilerServer runStatus(int status) {
+        this.runStatus = status;
+        return this;
+    }
+
+    StubCompilerServer runBody(String body) {
+        this.runBody = body;
+        return this;
+    }
+
+    StubCompilerServer healthStatus(int status) {
+        this.healthStatus = status;
+        return this;
+    }
+
+    /**
+     * 반환된 latch 가 풀릴 때까지 /run 응답을 보내지 않습니다.
+     */
+    CountDownLatch holdResponses() {
+        CountDownLatch latch = new CountDownLatch(1);
+        this.hold = latch;
+        return latch;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        hold.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
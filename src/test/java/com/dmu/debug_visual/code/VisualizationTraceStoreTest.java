@@ -0,0 +1,44 @@
+package com.dmu.debug_visual.code;
+
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisualizationTraceStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final VisualizationTraceStore store = new VisualizationTraceStore(objectMapper, 10, 60000);
+
+    @Test
+    void splitsStepsArrayIntoCompactRecords() {
+        List<String> steps = save("{\n  \"steps\": [\n    {\"line\": 1},\n    {\"line\": 2}\n  ]\n}");
+
+        assertThat(steps).containsExactly("{\"line\":1}", "{\"line\":2}");
+    }
+
+    @Test
+    void prettyPrintedJsonWithoutStepsBecomesOneLine() throws Exception {
+        String ast = "{\n  \"type\": \"Module\",\n  \"body\": [\n    1,\n    2\n  ]\n}";
+
+        List<String> steps = save(ast);
+
+        assertThat(steps).hasSize(1);
+        assertThat(steps.get(0)).doesNotContain("\n");
+        assertThat(objectMapper.readTree(steps.get(0))).isEqualTo(objectMapper.readTree(ast));
+    }
+
+    @Test
+    void plainTextIsStoredAsJsonString() {
+        List<String> steps = save("1+2=3\n설명");
+
+        assertThat(steps).containsExactly("\"1+2=3\\n설명\"");
+    }
+
+    private List<String> save(String ast) {
+        return store.save(CodeRunResponseDTO.builder().ast(ast).success(true).build()).getSteps();
+    }
+}
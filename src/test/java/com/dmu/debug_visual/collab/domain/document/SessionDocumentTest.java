@@ -0,0 +1,72 @@
+package com.dmu.debug_visual.collab.domain.document;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionDocumentTest {
+
+    @Test
+    void transformsAnEditMadeBeforeTheLatestVersion() {
+        SessionDocument document = new SessionDocument(10, 1000, "abc", 0, null, null);
+        document.apply(0, new TextOperation().insert("X").retain(3), "alice");
+
+        // bob 은 alice 의 편집을 보기 전(버전 0)의 문서에 편집했습니다.
+        SessionDocument.AppliedOperation applied = document.apply(0, new TextOperation().retain(3).insert("Y"), "bob");
+
+        assertThat(applied.version()).isEqualTo(2);
+        assertThat(applied.operation().toJson()).containsExactly(4, "Y");
+        assertThat(document.getContent()).isEqualTo("XabcY");
+        assertThat(document.snapshot().lastEditedBy()).isEqualTo("bob");
+    }
+
+    @Test
+    void rejectsBaseVersionsOlderThanTheHistoryWindow() {
+        SessionDocument document = new SessionDocument(2, 1000);
+        for (int i = 0; i < 3; i++) {
+            document.apply(i, new TextOperation().retain(i).insert("a"), "alice");
+        }
+
+        // 최근 두 개의 연산만 보관하므로 버전 1 이후의 편집만 변환할 수 있습니다.
+        assertThat(document.apply(0, new TextOperation().insert("b"), "bob")).isNull();
+        assertThat(document.apply(1, new TextOperation().retain(1).insert("b"), "bob")).isNotNull();
+        assertThat(document.getContent()).isEqualTo("abaa");
+    }
+
+    @Test
+    void rejectsBaseVersionsFromTheFuture() {
+        SessionDocument document = new SessionDocument(10, 1000, "abc", 5, null, null);
+
+        assertThat(document.apply(6, new TextOperation().retain(3).insert("x"), "alice")).isNull();
+        assertThat(document.getVersion()).isEqualTo(5);
+    }
+
+    @Test
+    void restoredDocumentOnlyAcceptsEditsOnItsCurrentVersion() {
+        SessionDocument document = new SessionDocument(10, 1000, "abc", 7, "alice", null);
+
+        assertThat(document.apply(6, new TextOperation().retain(3).insert("x"), "bob")).isNull();
+        assertThat(document.apply(7, new TextOperation().retain(3).insert("x"), "bob").version()).isEqualTo(8);
+    }
+
+    @Test
+    void rejectsEditsThatDoNotMatchTheDocumentOrExceedTheLimit() {
+        SessionDocument document = new SessionDocument(10, 5, "abc", 0, null, null);
+
+        assertThat(document.apply(0, new TextOperation().retain(2).insert("x"), "alice")).isNull();
+        assertThat(document.apply(0, new TextOperation().retain(3).insert("xyz"), "alice")).isNull();
+        assertThat(document.getContent()).isEqualTo("abc");
+        assertThat(document.getVersion()).isZero();
+    }
+
+    @Test
+    void replaceAppliesOnlyTheChangedRange() {
+        SessionDocument document = new SessionDocument(10, 1000, "print(1)", 0, null, null);
+
+        SessionDocument.AppliedOperation applied = document.replace("print(2)", "alice");
+
+        assertThat(applied.operation().toJson()).containsExactly(6, "2", -1, 1);
+        assertThat(document.getContent()).isEqualTo("print(2)");
+        assertThat(document.replace("print(2)", "alice")).isNull();
+    }
+}
@@ -0,0 +1,133 @@
+package com.dmu.debug_visual.collab.domain.document;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextOperationTest {
+
+    @Test
+    void transformedOperationsConvergeOnTheSameDocument() {
+        String document = "hello world";
+        TextOperation a = new TextOperation().retain(5).insert(" there").retain(6);
+        TextOperation b = new TextOperation().retain(6).delete(5).insert("Java");
+
+        assertConverges(document, a, b);
+        assertThat(applyBoth(document, a, b)).isEqualTo("hello there Java");
+    }
+
+    @Test
+    void randomConcurrentOperationsConverge() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            String document = randomText(random, random.nextInt(20));
+            assertConverges(document, randomOperation(random, document), randomOperation(random, document));
+        }
+    }
+
+    @Test
+    void concurrentInsertsAtTheSamePositionPutTheFirstOperandFirst() {
+        TextOperation a = new TextOperation().insert("A").retain(3);
+        TextOperation b = new TextOperation().insert("B").retain(3);
+
+        assertThat(applyBoth("xyz", a, b)).isEqualTo("ABxyz");
+        assertThat(applyBoth("xyz", b, a)).isEqualTo("BAxyz");
+    }
+
+    @Test
+    void overlappingDeletesRemoveTheRangeOnce() {
+        TextOperation a = new TextOperation().retain(1).delete(3).retain(2);
+        TextOperation b = new TextOperation().retain(2).delete(3).retain(1);
+
+        assertConverges("abcdef", a, b);
+        assertThat(applyBoth("abcdef", a, b)).isEqualTo("af");
+    }
+
+    @Test
+    void diffDoesNotSplitASurrogatePairInTheCommonPrefix() {
+        String before = "a\uD83D\uDE00b";  // a😀b
+        String after = "a\uD83D\uDE01b";   // a😁b (같은 상위 서로게이트)
+
+        TextOperation operation = TextOperation.fromDiff(before, after);
+
+        assertThat(operation.toJson()).containsExactly(1, "\uD83D\uDE01", -2, 1);
+        assertThat(apply(before, operation)).isEqualTo(after);
+    }
+
+    @Test
+    void diffDoesNotSplitASurrogatePairInTheCommonSuffix() {
+        String before = "x\uD83D\uDE00";  // x😀
+        String after = "x\uD83C\uDE00";   // x🈀 (같은 하위 서로게이트)
+
+        TextOperation operation = TextOperation.fromDiff(before, after);
+
+        assertThat(operation.toJson()).containsExactly(1, "\uD83C\uDE00", -2);
+        assertThat(apply(before, operation)).isEqualTo(after);
+    }
+
+    @Test
+    void readsAndWritesTheOtJsFormat() {
+        TextOperation operation = TextOperation.fromJson(List.of(3, "X", 2, -1));
+
+        assertThat(operation.getBaseLength()).isEqualTo(6);
+        assertThat(operation.getTargetLength()).isEqualTo(6);
+        assertThat(operation.toJson()).containsExactly(3, "X", 2, -1);
+        assertThat(apply("abcdef", operation)).isEqualTo("abcXde");
+    }
+
+    // Private Helper Methods
+
+    private static void assertConverges(String document, TextOperation a, TextOperation b) {
+        assertThat(applyBoth(document, a, b)).isEqualTo(applyBothReversed(document, a, b));
+    }
+
+    // apply(apply(d, a), b')
+    private static String applyBoth(String document, TextOperation a, TextOperation b) {
+        TextOperation[] transformed = TextOperation.transform(a, b);
+        return apply(apply(document, a), transformed[1]);
+    }
+
+    // apply(apply(d, b), a')
+    private static String applyBothReversed(String document, TextOperation a, TextOperation b) {
+        TextOperation[] transformed = TextOperation.transform(a, b);
+        return apply(apply(document, b), transformed[0]);
+    }
+
+    private static String apply(String document, TextOperation operation) {
+        StringBuilder builder = new StringBuilder(document);
+        operation.applyTo(builder);
+        return builder.toString();
+    }
+
+    private static TextOperation randomOperation(Random random, String document) {
+        TextOperation operation = new TextOperation();
+        int remaining = document.length();
+        while (remaining > 0) {
+            int length = 1 + random.nextInt(remaining);
+            switch (random.nextInt(3)) {
+                case 0 -> operation.retain(length);
+                case 1 -> operation.delete(length);
+                default -> {
+                    operation.insert(randomText(random, 1 + random.nextInt(3)));
+                    continue;
+                }
+            }
+            remaining -= length;
+        }
+        if (random.nextBoolean()) {
+            operation.insert(randomText(random, 1 + random.nextInt(3)));
+        }
+        return operation;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(26)));
+        }
+        return text.toString();
+    }
+}
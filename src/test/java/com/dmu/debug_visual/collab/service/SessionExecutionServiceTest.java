@@ -0,0 +1,98 @@
+package com.dmu.debug_visual.collab.service;
+
+import com.dmu.debug_visual.code.CodeExecutionService;
+import com.dmu.debug_visual.code.ExecutionRateLimiter;
+import com.dmu.debug_visual.code.dto.CodeRunResponseDTO;
+import com.dmu.debug_visual.collab.websocket.dto.SessionRunMessage;
+import com.dmu.debug_visual.collab.websocket.dto.SessionRunRequest;
+import com.dmu.debug_visual.user.User;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionExecutionServiceTest {
+
+    private static final String TOPIC = "/topic/room/room-1/session/session-1";
+
+    private final CodeExecutionService codeExecutionService = mock(CodeExecutionService.class);
+    private final ExecutionRateLimiter rateLimiter = mock(ExecutionRateLimiter.class);
+    private final WebSocketRoomService webSocketRoomService = mock(WebSocketRoomService.class);
+    private final SimpMessageSendingOperations messagingTemplate = mock(SimpMessageSendingOperations.class);
+    private final SessionExecutionService service = new SessionExecutionService(
+            codeExecutionService, rateLimiter, webSocketRoomService, messagingTemplate, 3000);
+
+    private final User requester = User.builder().userId("alice").name("Alice").role(User.Role.USER).build();
+
+    @Test
+    void broadcastsStartAndCompletion() {
+        when(webSocketRoomService.getSessionCode("session-1")).thenReturn("print(1)");
+        when(codeExecutionService.runCode(anyString(), any(), anyString(), anyString()))
+                .thenReturn(Mono.just(CodeRunResponseDTO.builder().stdout("1").success(true).build()));
+
+        service.runForSession("room-1", "session-1", requester, request());
+
+        assertThat(sentTypes(2)).containsExactly(SessionRunMessage.STARTED, SessionRunMessage.COMPLETED);
+    }
+
+    @Test
+    void rejectsWhenTheSessionHasNoCodeYet() {
+        service.runForSession("room-1", "session-1", requester, request());
+
+        List<SessionRunMessage> sent = sent(1);
+        assertThat(sent.get(0).getType()).isEqualTo(SessionRunMessage.REJECTED);
+        assertThat(sent.get(0).getMessage()).isNotBlank();
+        verify(codeExecutionService, never()).runCode(anyString(), any(), anyString(), anyString());
+    }
+
+    @Test
+    void rejectsWhenTheRunCompletesWithoutAResult() {
+        when(webSocketRoomService.getSessionCode("session-1")).thenReturn("print(1)");
+        when(codeExecutionService.runCode(anyString(), any(), anyString(), anyString())).thenReturn(Mono.empty());
+
+        service.runForSession("room-1", "session-1", requester, request());
+
+        assertThat(sentTypes(2)).containsExactly(SessionRunMessage.STARTED, SessionRunMessage.REJECTED);
+    }
+
+    @Test
+    void rejectsWhenTheRunFails() {
+        when(webSocketRoomService.getSessionCode("session-1")).thenReturn("print(1)");
+        when(codeExecutionService.runCode(anyString(), any(), anyString(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        service.runForSession("room-1", "session-1", requester, request());
+
+        assertThat(sentTypes(2)).containsExactly(SessionRunMessage.STARTED, SessionRunMessage.REJECTED);
+    }
+
+    // Private Helper Methods
+
+    private static SessionRunRequest request() {
+        SessionRunRequest request = new SessionRunRequest();
+        request.setLang("python");
+        return request;
+    }
+
+    private List<SessionRunMessage> sent(int count) {
+        ArgumentCaptor<SessionRunMessage> captor = ArgumentCaptor.forClass(SessionRunMessage.class);
+        verify(messagingTemplate, times(count)).convertAndSend(eq(TOPIC), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private List<String> sentTypes(int count) {
+        return sent(count).stream().map(SessionRunMessage::getType).toList();
+    }
+}
@@ -0,0 +1,192 @@
+package com.dmu.debug_visual.collab.service;
+
+import com.dmu.debug_visual.collab.websocket.dto.CodeMessage;
+import com.dmu.debug_visual.collab.websocket.dto.CodeUpdateBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SessionUpdateBatcherTest {
+
+    private static final String TOPIC = "/topic/room/room-1/session/session-1/code";
+
+    private final SimpMessageSendingOperations messagingTemplate = mock(SimpMessageSendingOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private long version;
+
+    @AfterEach
+    void resetScheduler() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void sendsOnceNoUpdateArrivesWithinTheWindow() {
+        VirtualTimeScheduler time = VirtualTimeScheduler.getOrSet();
+        SessionUpdateBatcher batcher = batcherOf(16, 50, 100);
+
+        batcher.enqueue("room-1", "session-1", update());
+        time.advanceTimeBy(Duration.ofMillis(10));
+        batcher.enqueue("room-1", "session-1", update());
+        time.advanceTimeBy(Duration.ofMillis(10));
+        // 마지막 편집 후 아직 16ms 가 지나지 않았습니다.
+        verify(messagingTemplate, never()).convertAndSend(eq(TOPIC), any(Object.class));
+
+        time.advanceTimeBy(Duration.ofMillis(6));
+        assertThat(sentVersions(1)).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    void continuousTypingIsSentAfterMaxDelay() {
+        VirtualTimeScheduler time = VirtualTimeScheduler.getOrSet();
+        SessionUpdateBatcher batcher = batcherOf(16, 50, 100);
+
+        // 10ms 마다 편집하면 16ms 창은 계속 연장되지만, 첫 편집 후 50ms 가 되면 보냅니다.
+        for (int i = 0; i < 5; i++) {
+            batcher.enqueue("room-1", "session-1", update());
+            time.advanceTimeBy(Duration.ofMillis(10));
+        }
+        assertThat(sentVersions(1)).containsExactly(List.of(1L, 2L, 3L, 4L, 5L));
+
+        batcher.enqueue("room-1", "session-1", update());
+        time.advanceTimeBy(Duration.ofMillis(16));
+        assertThat(sentVersions(2)).containsExactly(List.of(1L, 2L, 3L, 4L, 5L), List.of(6L));
+    }
+
+    @Test
+    void sendsImmediatelyWhenMaxSizeIsReached() {
+        VirtualTimeScheduler.getOrSet();
+        SessionUpdateBatcher batcher = batcherOf(16, 50, 3);
+
+        for (int i = 0; i < 4; i++) {
+            batcher.enqueue("room-1", "session-1", update());
+        }
+
+        // 시간이 흐르지 않아도 3개가 모이면 보내고, 4번째는 다음 묶음에 남습니다.
+        assertThat(sentVersions(1)).containsExactly(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void zeroWindowSendsEveryUpdateWithoutDelay() {
+        VirtualTimeScheduler.getOrSet();
+        SessionUpdateBatcher batcher = batcherOf(0, 50, 100);
+
+        batcher.enqueue("room-1", "session-1", update());
+        batcher.enqueue("room-1", "session-1", update());
+
+        assertThat(sentVersions(2)).containsExactly(List.of(1L), List.of(2L));
+    }
+
+    @Test
+    void sessionsAreBatchedSeparately() {
+        VirtualTimeScheduler time = VirtualTimeScheduler.getOrSet();
+        SessionUpdateBatcher batcher = batcherOf(16, 50, 100);
+
+        batcher.enqueue("room-1", "session-1", update());
+        batcher.enqueue("room-1", "session-2", update());
+        batcher.enqueue("room-1", "session-1", update());
+        time.advanceTimeBy(Duration.ofMillis(16));
+
+        assertThat(sentVersions(1)).containsExactly(List.of(1L, 3L));
+        ArgumentCaptor<CodeUpdateBatch> other = ArgumentCaptor.forClass(CodeUpdateBatch.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/room/room-1/session/session-2/code"), other.capture());
+        assertThat(other.getValue().getSessionId()).isEqualTo("session-2");
+        assertThat(versionsOf(other.getValue())).containsExactly(2L);
+    }
+
+    @Test
+    void laterUpdatesNeverOvertakeEarlierOnes() throws Exception {
+        // 실제 타이머와 느린 전송으로, 타이머 전송과 편집 추가가 겹쳐도 보낸 순서가 추가한 순서와 같은지 확인합니다.
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            received.addAll(versionsOf(invocation.getArgument(1)));
+            Thread.sleep(1);
+            return null;
+        }).when(messagingTemplate).convertAndSend(eq(TOPIC), any(Object.class));
+        SessionUpdateBatcher batcher = batcherOf(1, 3, 7);
+
+        int writers = 4;
+        int perWriter = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers);
+        // 같은 세션의 편집은 서버에서 하나씩 적용되므로, 버전 발급과 추가를 한 잠금 안에서 합니다.
+        Object appliedLock = new Object();
+        try {
+            for (int w = 0; w < writers; w++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        synchronized (appliedLock) {
+                            batcher.enqueue("room-1", "session-1", update());
+                        }
+                        if (i % 50 == 0) {
+                            sleepQuietly(2);
+                        }
+                    }
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = (long) writers * perWriter;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < total && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(received).containsExactlyElementsOf(LongStream.rangeClosed(1, total).boxed().toList());
+    }
+
+    // Private Helper Methods
+
+    private SessionUpdateBatcher batcherOf(long windowMillis, long maxDelayMillis, int maxSize) {
+        return new SessionUpdateBatcher(messagingTemplate, windowMillis, maxDelayMillis, maxSize, meterRegistry);
+    }
+
+    private CodeMessage update() {
+        CodeMessage message = new CodeMessage();
+        message.setVersion(++version);
+        return message;
+    }
+
+    private List<List<Long>> sentVersions(int count) {
+        ArgumentCaptor<CodeUpdateBatch> captor = ArgumentCaptor.forClass(CodeUpdateBatch.class);
+        verify(messagingTemplate, times(count)).convertAndSend(eq(TOPIC), captor.capture());
+        return captor.getAllValues().stream().map(SessionUpdateBatcherTest::versionsOf).toList();
+    }
+
+    private static List<Long> versionsOf(Object batch) {
+        return ((CodeUpdateBatch) batch).getUpdates().stream().map(CodeMessage::getVersion).toList();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.dmu.debug_visual.collab.service;
+
+import com.dmu.debug_visual.collab.domain.document.SessionDocument;
+import com.dmu.debug_visual.collab.domain.entity.CodeSession;
+import com.dmu.debug_visual.collab.domain.entity.SessionParticipant.Permission;
+import com.dmu.debug_visual.collab.domain.repository.CodeSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketRoomServiceTest {
+
+    private final CodeSessionRepository codeSessionRepository = mock(CodeSessionRepository.class);
+    private final WebSocketRoomService service = new WebSocketRoomService(codeSessionRepository);
+    private final CodeSession session = CodeSession.builder().sessionName("main").build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "documentMaxHistory", 10);
+        ReflectionTestUtils.setField(service, "documentMaxLength", 1000);
+        when(codeSessionRepository.findBySessionId("s1")).thenReturn(Optional.of(session));
+    }
+
+    @Test
+    void doesNotLoadPermissionsForSessionsWithoutLiveParticipants() {
+        long version = service.getSessionPermissionVersion();
+
+        service.loadSessionPermissions("unknown", version, Map.of("alice", Permission.READ_WRITE));
+
+        assertThat(service.isSessionPermissionLoaded("unknown")).isFalse();
+        assertThat(service.getSessionPermission("unknown", "alice")).isNull();
+    }
+
+    @Test
+    void rejectsATableReadBeforeAConcurrentPermissionChange() {
+        service.addSessionParticipant("s1", "alice");
+        long version = service.getSessionPermissionVersion();
+
+        // DB 를 읽는 동안 권한 회수가 커밋되었지만, 아직 메모리에 표가 없어 반영되지 못한 상황
+        service.updateSessionPermission("s1", "bob", Permission.READ_ONLY);
+
+        assertThat(service.loadSessionPermissions("s1", version, Map.of("bob", Permission.READ_WRITE))).isFalse();
+        assertThat(service.isSessionPermissionLoaded("s1")).isFalse();
+
+        // 다시 읽은 표는 올라갑니다.
+        long reread = service.getSessionPermissionVersion();
+        assertThat(service.loadSessionPermissions("s1", reread, Map.of("bob", Permission.READ_ONLY))).isTrue();
+        assertThat(service.getSessionPermission("s1", "bob")).isEqualTo(Permission.READ_ONLY);
+    }
+
+    @Test
+    void appliesChangesToALoadedTable() {
+        service.addSessionParticipant("s1", "alice");
+        service.loadSessionPermissions("s1", service.getSessionPermissionVersion(),
+                Map.of("alice", Permission.READ_WRITE, "bob", Permission.READ_ONLY));
+
+        service.updateSessionPermission("s1", "bob", Permission.READ_WRITE);
+        service.removeSessionPermission("s1", "alice");
+
+        assertThat(service.getSessionPermission("s1", "bob")).isEqualTo(Permission.READ_WRITE);
+        assertThat(service.getSessionPermission("s1", "alice")).isNull();
+    }
+
+    @Test
+    void lastParticipantLeavingDropsTheSessionTables() {
+        service.addSessionParticipant("s1", "alice");
+        service.loadSessionPermissions("s1", service.getSessionPermissionVersion(), Map.of("alice", Permission.READ_WRITE));
+
+        service.removeSessionParticipant("s1", "alice");
+
+        assertThat(service.isSessionEmpty("s1")).isTrue();
+        assertThat(service.isSessionPermissionLoaded("s1")).isFalse();
+    }
+
+    @Test
+    void checkpointSavesEditedDocumentsOfLiveSessionsOnce() {
+        service.addSessionParticipant("s1", "alice");
+        service.getOrCreateSessionDocument("s1").replace("print(1)", "alice");
+
+        service.checkpointDocuments();
+        service.checkpointDocuments();
+
+        verify(codeSessionRepository, times(1)).save(session);
+        assertThat(session.getContent()).isEqualTo("print(1)");
+        assertThat(session.getContentVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdownFlushesUnsavedEdits() {
+        service.addSessionParticipant("s1", "alice");
+        SessionDocument document = service.getOrCreateSessionDocument("s1");
+        document.replace("print(1)", "alice");
+        service.checkpointDocuments();
+        document.replace("print(2)", "alice");
+
+        service.flushDocuments();
+
+        verify(codeSessionRepository, times(2)).save(session);
+        assertThat(session.getContent()).isEqualTo("print(2)");
+        assertThat(document.hasUnsavedChanges()).isFalse();
+    }
+
+    @Test
+    void checkpointDoesNotOverwriteANewerSavedVersion() {
+        service.getOrCreateSessionDocument("s1").replace("stale", "alice");
+        session.updateDocument("newer", 5, "bob", null);
+
+        service.checkpointDocuments();
+
+        verify(codeSessionRepository, never()).save(any());
+        assertThat(session.getContent()).isEqualTo("newer");
+    }
+}